@@ -0,0 +1,69 @@
+package pacman.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pacman.board.BoardItem;
+import pacman.board.PacmanBoard;
+import pacman.util.Position;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of PacmanBoard.isEmpty(), reset() and the copy constructor on a
+ * small and a huge board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({"small", "huge"})
+    public String size;
+
+    // board being measured
+    private PacmanBoard board;
+
+    @Setup
+    public void setup() {
+        board = Boards.board(size);
+    }
+
+    @Benchmark
+    public boolean isEmpty() {
+        return board.isEmpty();
+    }
+
+    /**
+     * Eats one dot then resets the board, so reset always has a block
+     * to respawn.
+     */
+    @Benchmark
+    public PacmanBoard reset() {
+        board.setEntry(Position.of(1, 2), BoardItem.NONE);
+        board.reset();
+        return board;
+    }
+
+    /**
+     * Copies the board then changes one block of the copy, as a game
+     * does after taking a copy of its board.
+     */
+    @Benchmark
+    public PacmanBoard copy() {
+        PacmanBoard copy = new PacmanBoard(board);
+        copy.setEntry(Position.of(1, 2), BoardItem.NONE);
+        return copy;
+    }
+}
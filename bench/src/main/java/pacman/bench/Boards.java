@@ -0,0 +1,80 @@
+package pacman.bench;
+
+import pacman.board.BoardItem;
+import pacman.board.PacmanBoard;
+import pacman.game.PacmanGame;
+import pacman.hunter.HunterType;
+import pacman.util.Position;
+
+/**
+ * Boards and games shared by the benchmarks.
+ */
+final class Boards {
+
+    private Boards() {
+    }
+
+    /**
+     * Creates a board of dots with the layout of the default map for
+     * "small" or a 1001x1001 maze of wall pillars for "huge".
+     *
+     * @param size - "small" or "huge".
+     * @return a new board with both spawns placed.
+     */
+    static PacmanBoard board(String size) {
+        if ("small".equals(size)) {
+            PacmanBoard board = new PacmanBoard(25, 9);
+            fill(board);
+            for (int x = 8; x <= 16; x++) {
+                board.setEntry(Position.of(x, 4), BoardItem.WALL);
+            }
+            board.setEntry(Position.of(12, 2), BoardItem.WALL);
+            board.setEntry(Position.of(12, 3), BoardItem.WALL);
+            board.setEntry(Position.of(12, 5), BoardItem.WALL);
+            board.setEntry(Position.of(12, 7), BoardItem.WALL);
+            board.setEntry(Position.of(6, 2), BoardItem.BIG_DOT);
+            board.setEntry(Position.of(19, 6), BoardItem.BIG_DOT);
+            board.setEntry(Position.of(1, 7), BoardItem.PACMAN_SPAWN);
+            board.setEntry(Position.of(23, 7), BoardItem.GHOST_SPAWN);
+            return board;
+        }
+        if ("huge".equals(size)) {
+            PacmanBoard board = new PacmanBoard(1001, 1001);
+            fill(board);
+            for (int y = 2; y < 1000; y += 2) {
+                for (int x = 2; x < 1000; x += 2) {
+                    board.setEntry(Position.of(x, y), BoardItem.WALL);
+                }
+            }
+            board.setEntry(Position.of(1, 1), BoardItem.PACMAN_SPAWN);
+            board.setEntry(Position.of(999, 999), BoardItem.GHOST_SPAWN);
+            return board;
+        }
+        throw new IllegalArgumentException(size);
+    }
+
+    /**
+     * Creates a reset game on a board.
+     *
+     * @param size - of the board, see board(String).
+     * @param hunter - type of the game's hunter.
+     * @return a new game ready to tick.
+     */
+    static PacmanGame game(String size, HunterType hunter) {
+        PacmanGame game = new PacmanGame("bench", "bench",
+                hunter.newHunter(), board(size));
+        game.reset();
+        return game;
+    }
+
+    /*
+     * Fills the inside of a board with dots.
+     */
+    private static void fill(PacmanBoard board) {
+        for (int y = 1; y < board.getHeight() - 1; y++) {
+            for (int x = 1; x < board.getWidth() - 1; x++) {
+                board.setEntry(Position.of(x, y), BoardItem.DOT);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package pacman.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pacman.game.PacmanGame;
+import pacman.ghost.Ghost;
+import pacman.ghost.GhostType;
+import pacman.ghost.Phase;
+import pacman.hunter.Hunter;
+import pacman.hunter.HunterType;
+import pacman.util.Direction;
+import pacman.util.Position;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of a single Ghost.move() for each ghost type and phase, and of a
+ * single Hunter.move() for each hunter type, on the small board.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+
+    /**
+     * A game and one of its ghosts.
+     */
+    @State(Scope.Thread)
+    public static class GhostState {
+
+        @Param({"BLINKY", "CLYDE", "INKY", "PINKY"})
+        public GhostType type;
+
+        @Param({"CHASE", "SCATTER", "FRIGHTENED"})
+        public Phase phase;
+
+        // game the ghost moves in
+        PacmanGame game;
+        // ghost being moved
+        Ghost ghost;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            game = Boards.game("small", HunterType.PHIL);
+            game.getHunter().setPosition(Position.of(12, 1));
+            for (Ghost g : game.getGhosts()) {
+                if (g.getType() == type) {
+                    ghost = g;
+                }
+            }
+            ghost.setPhase(phase, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * A game and its hunter.
+     */
+    @State(Scope.Thread)
+    public static class HunterState {
+
+        @Param({"HUNGRY", "PHASEY", "PHIL", "SPEEDY"})
+        public HunterType type;
+
+        // game the hunter moves in
+        PacmanGame game;
+        // hunter being moved
+        Hunter hunter;
+        // moves since the game was reset
+        int moves;
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            game = Boards.game("small", type);
+            hunter = game.getHunter();
+            hunter.activateSpecial(Integer.MAX_VALUE);
+            moves = 0;
+        }
+    }
+
+    @Benchmark
+    public Position ghostMove(GhostState state) {
+        state.ghost.move(state.game);
+        return state.ghost.getPosition();
+    }
+
+    @Benchmark
+    public Position hunterMove(HunterState state) {
+        if ((state.moves++ & 7) == 0) {
+            state.hunter.setDirection(
+                    Direction.values()[(state.moves >> 3) & 3]);
+        }
+        state.hunter.move(state.game);
+        return state.hunter.getPosition();
+    }
+}
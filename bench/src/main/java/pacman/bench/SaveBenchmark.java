@@ -0,0 +1,109 @@
+package pacman.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pacman.game.BinaryGameReader;
+import pacman.game.BinaryGameWriter;
+import pacman.game.GameReader;
+import pacman.game.GameWriter;
+import pacman.game.MappedGameReader;
+import pacman.game.PacmanGame;
+import pacman.hunter.HunterType;
+import pacman.util.UnpackableException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to read and write a save in the text and binary formats, with
+ * and without a large score block.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveBenchmark {
+
+    @Param({"small", "huge"})
+    public String size;
+
+    @Param({"10", "10000", "100000"})
+    public int scores;
+
+    // game being saved
+    private PacmanGame game;
+    // text save of the game
+    private String text;
+    // binary save of the game
+    private byte[] binary;
+    // text save of the game on disk
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        game = Boards.game(size, HunterType.PHIL);
+        for (int i = 0; i < scores; i++) {
+            game.getScores().setScore("player" + i, i * 7 % 1000);
+        }
+        StringWriter writer = new StringWriter();
+        GameWriter.write(writer, game);
+        text = writer.toString();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryGameWriter.write(out, game);
+        binary = out.toByteArray();
+        file = Files.createTempFile("bench", ".map");
+        Files.writeString(file, text);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public PacmanGame readText() throws UnpackableException, IOException {
+        return GameReader.read(new StringReader(text));
+    }
+
+    @Benchmark
+    public PacmanGame readMapped() throws UnpackableException, IOException {
+        return MappedGameReader.read(file);
+    }
+
+    @Benchmark
+    public PacmanGame readBinary() throws UnpackableException, IOException {
+        return BinaryGameReader.read(new ByteArrayInputStream(binary));
+    }
+
+    @Benchmark
+    public int writeText() throws IOException {
+        StringWriter writer = new StringWriter(text.length());
+        GameWriter.write(writer, game);
+        return writer.getBuffer().length();
+    }
+
+    @Benchmark
+    public int writeBinary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(binary.length);
+        BinaryGameWriter.write(out, game);
+        return out.size();
+    }
+}
@@ -0,0 +1,108 @@
+package pacman.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pacman.score.ScoreBoard;
+import pacman.score.ScoreEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of the ScoreBoard queries and of importing scores, for score
+ * boards of increasing size. Runs of the same benchmark at each size
+ * show how it scales.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoreBoardBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int entries;
+
+    // score board holding every entry
+    private ScoreBoard board;
+    // the entries as a map
+    private Map<String, Integer> scores;
+    // the entries in insertion order
+    private List<ScoreEntry> list;
+    // name of an entry part way down the ranking
+    private String name;
+
+    @Setup
+    public void setup() {
+        board = new ScoreBoard();
+        scores = new HashMap<>();
+        list = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            String player = "player" + i;
+            int score = (int) ((i * 2654435761L) % 100000);
+            scores.put(player, score);
+            list.add(new ScoreEntry(player, score));
+        }
+        board.setScores(scores);
+        name = "player" + (entries / 3);
+    }
+
+    @Benchmark
+    public List<String> entriesByName() {
+        return board.getEntriesByName();
+    }
+
+    @Benchmark
+    public List<String> entriesByScore() {
+        return board.getEntriesByScore();
+    }
+
+    @Benchmark
+    public List<ScoreEntry> topTen() {
+        return board.topK(10);
+    }
+
+    @Benchmark
+    public int rankOf() {
+        return board.rankOf(name);
+    }
+
+    @Benchmark
+    public ScoreBoard importSetScores() {
+        ScoreBoard imported = new ScoreBoard();
+        imported.setScores(scores);
+        return imported;
+    }
+
+    @Benchmark
+    public ScoreBoard importAddAll() {
+        ScoreBoard imported = new ScoreBoard();
+        imported.addAll(list.iterator());
+        return imported;
+    }
+
+    /**
+     * Imports one score at a time, the cost before bulk imports.
+     */
+    @Benchmark
+    public ScoreBoard importOneByOne() {
+        ScoreBoard imported = new ScoreBoard();
+        for (ScoreEntry entry : list) {
+            imported.setScore(entry.getName(), entry.getScore());
+        }
+        return imported;
+    }
+}
@@ -0,0 +1,62 @@
+package pacman.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pacman.game.PacmanGame;
+import pacman.ghost.GhostSwarm;
+import pacman.hunter.HunterType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of one GhostSwarm.move() and GhostSwarm.hit(Hunter) for swarms of
+ * increasing size on the huge board. Hitting should barely change with
+ * the size of the swarm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwarmBenchmark {
+
+    @Param({"4", "100", "1000"})
+    public int ghosts;
+
+    // game the swarm moves in
+    private PacmanGame game;
+    // swarm being moved
+    private GhostSwarm swarm;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        game = Boards.game("huge", HunterType.PHIL);
+        swarm = new GhostSwarm(ghosts);
+        game.setGhostSwarm(swarm);
+        // the first move indexes the swarm by block
+        swarm.move(game);
+    }
+
+    @Benchmark
+    public GhostSwarm move() {
+        swarm.move(game);
+        return swarm;
+    }
+
+    @Benchmark
+    public boolean hit() {
+        swarm.hit(game.getHunter());
+        return game.getHunter().isDead();
+    }
+}
@@ -0,0 +1,96 @@
+package pacman.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pacman.board.DistanceFieldCache;
+import pacman.game.PacmanGame;
+import pacman.hunter.HunterType;
+import pacman.util.Direction;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of one PacmanGame.tick() on a small and a huge board, alone and
+ * as part of PacmanGame.tickN(int, Predicate).
+ *
+ * The hunter turns every 16 ticks so it keeps clearing new dots. The
+ * game is reset before every iteration so each iteration starts from
+ * the same state, and again whenever it runs out of lives so every
+ * call measures a real tick. That reset runs inside the call that
+ * finds the game over, since a per invocation setup would be timed
+ * with more overhead than a tick takes, so the times include one
+ * reset spread over the ticks of each game played. With maze
+ * navigation on the ghosts steer by cached shortest path distances
+ * rather than straight line distances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    @Param({"small", "huge"})
+    public String size;
+
+    @Param({"PHIL", "SPEEDY"})
+    public HunterType hunter;
+
+    @Param({"false", "true"})
+    public boolean maze;
+
+    // game being ticked
+    private PacmanGame game;
+    // ticks since the game was reset
+    private int ticks;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        game = Boards.game(size, hunter);
+        if (maze) {
+            game.setGhostNavigation(new DistanceFieldCache());
+        }
+        ticks = 0;
+    }
+
+    @Benchmark
+    public int tick() {
+        if ((ticks++ & 15) == 0) {
+            game.getHunter().setDirection(
+                    Direction.values()[(ticks >> 4) & 3]);
+        }
+        // a game with no lives left does nothing when ticked
+        if (game.getLives() == 0) {
+            game.reset();
+        }
+        game.tick();
+        return game.getScores().getScore();
+    }
+
+    /**
+     * Runs up to 16 ticks per call between turns, as a simulation worker
+     * would, reporting the time of each tick. Runs stopped early by a
+     * lost life or a cleared level make the time a slight underestimate.
+     */
+    @Benchmark
+    @OperationsPerInvocation(16)
+    public int tickN() {
+        game.getHunter().setDirection(Direction.values()[ticks++ & 3]);
+        if (game.getLives() == 0) {
+            game.reset();
+        }
+        return game.tickN(16, null).getTicks();
+    }
+}
@@ -0,0 +1,168 @@
+package pacman.board;
+
+import pacman.util.Direction;
+
+import java.util.Arrays;
+
+/**
+ * The junctions and corridors of a board.
+ *
+ * A corridor is a straight run of pathable blocks that each have exactly
+ * two pathable neighbours, opposite each other, so an entity walking
+ * along it can only carry on or turn back. Every other pathable block is
+ * a junction: crossings, turns and dead ends. Entities only have a
+ * choice to make at junctions.
+ *
+ * A graph is only valid for boards with the layout version it was built
+ * for, see {@link PacmanBoard#getLayoutVersion()}.
+ */
+public final class CorridorGraph {
+
+    // marks a block that is not pathable
+    private static final int WALL = -1;
+    // marks a pathable block that is not part of a corridor
+    private static final int JUNCTION = -2;
+
+    // width of the board the graph was built for
+    private final int width;
+    // height of the board the graph was built for
+    private final int height;
+    // layout version of the board the graph was built for
+    private final long layout;
+    // corridor of each block indexed by y * width + x, or WALL or JUNCTION
+    private final int[] corridorOf;
+    // index of the first block of each corridor, leftmost or topmost
+    private final int[] first;
+    // index of the last block of each corridor, rightmost or bottommost
+    private final int[] last;
+    // whether each corridor runs left to right rather than top to bottom
+    private final boolean[] horizontal;
+    // number of junction blocks
+    private final int junctions;
+
+    /**
+     * Builds the graph of a board.
+     *
+     * @param board - to find the junctions and corridors of.
+     * @throws NullPointerException if board is null.
+     */
+    public CorridorGraph(PacmanBoard board) throws NullPointerException {
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        this.layout = board.getLayoutVersion();
+        this.corridorOf = new int[width * height];
+        Arrays.fill(corridorOf, WALL);
+
+        int across = Direction.LEFT.mask() | Direction.RIGHT.mask();
+        int down = Direction.UP.mask() | Direction.DOWN.mask();
+        int[] firsts = new int[16];
+        int[] lasts = new int[16];
+        boolean[] acrosses = new boolean[16];
+        int corridors = 0;
+        int junctionCount = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (!board.isPathable(x, y)) {
+                    continue;
+                }
+                int mask = board.getNeighbourMask(x, y);
+                int index = y * width + x;
+                if (mask != across && mask != down) {
+                    corridorOf[index] = JUNCTION;
+                    junctionCount++;
+                    continue;
+                }
+                // join the corridor of the block before, else start one
+                int before = mask == across ? index - 1 : index - width;
+                int corridor = corridorOf[before];
+                if (corridor == JUNCTION) {
+                    if (corridors == firsts.length) {
+                        firsts = Arrays.copyOf(firsts, corridors * 2);
+                        lasts = Arrays.copyOf(lasts, corridors * 2);
+                        acrosses = Arrays.copyOf(acrosses, corridors * 2);
+                    }
+                    corridor = corridors++;
+                    firsts[corridor] = index;
+                    acrosses[corridor] = mask == across;
+                }
+                corridorOf[index] = corridor;
+                lasts[corridor] = index;
+            }
+        }
+        this.first = Arrays.copyOf(firsts, corridors);
+        this.last = Arrays.copyOf(lasts, corridors);
+        this.horizontal = Arrays.copyOf(acrosses, corridors);
+        this.junctions = junctionCount;
+    }
+
+    /**
+     * Checks if a block is a junction, a pathable block where an entity
+     * may have a choice of where to go or has to turn.
+     *
+     * @param x coordinate of the block.
+     * @param y coordinate of the block.
+     * @return true if the block is pathable and not part of a corridor.
+     */
+    public boolean isJunction(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height
+                && corridorOf[y * width + x] == JUNCTION;
+    }
+
+    /**
+     * Gets the number of moves in a direction from a block along its
+     * corridor until the next junction is reached.
+     *
+     * @param x         coordinate of the block.
+     * @param y         coordinate of the block.
+     * @param direction to move in.
+     * @return the moves to the next junction, or 0 if the block is not
+     * part of a corridor or the direction does not run along it.
+     */
+    public int stepsToJunction(int x, int y, Direction direction) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return 0;
+        }
+        int corridor = corridorOf[y * width + x];
+        if (corridor < 0) {
+            return 0;
+        }
+        boolean across = horizontal[corridor];
+        switch (direction) {
+            case LEFT:
+                return across ? x - first[corridor] % width + 1 : 0;
+            case RIGHT:
+                return across ? last[corridor] % width - x + 1 : 0;
+            case UP:
+                return across ? 0 : y - first[corridor] / width + 1;
+            default:
+                return across ? 0 : last[corridor] / width - y + 1;
+        }
+    }
+
+    /**
+     * Gets the number of junctions on the board.
+     *
+     * @return junction count.
+     */
+    public int getJunctionCount() {
+        return junctions;
+    }
+
+    /**
+     * Gets the number of corridors on the board.
+     *
+     * @return corridor count.
+     */
+    public int getCorridorCount() {
+        return first.length;
+    }
+
+    /**
+     * Gets the layout version of the board the graph was built for.
+     *
+     * @return the layout version.
+     */
+    public long getLayoutVersion() {
+        return layout;
+    }
+}
@@ -0,0 +1,187 @@
+package pacman.board;
+
+import pacman.util.Direction;
+import pacman.util.Position;
+
+import java.util.Arrays;
+
+/**
+ * The shortest path distance from every block of a board to one target
+ * block, moving one block at a time up, down, left or right through
+ * pathable blocks.
+ *
+ * A field is computed once with a breadth first search over the board
+ * and then answers each distance query in constant time. It is only
+ * valid for boards with the layout version it was computed for, see
+ * {@link PacmanBoard#getLayoutVersion()}. See {@link DistanceFieldCache}.
+ */
+public final class DistanceField {
+
+    /**
+     * The distance of a block that cannot reach the target.
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // width of the board the field was computed for
+    private final int width;
+    // height of the board the field was computed for
+    private final int height;
+    // layout version of the board the field was computed for
+    private final long layout;
+    // the pathable block the distances are measured to
+    private final Position target;
+    // distance of each block indexed by y * width + x
+    private final int[] distances;
+
+    /**
+     * Computes the distances to a target on a board. A target outside the
+     * board is first moved to the closest block on the board. If that
+     * block is not pathable, distances are measured to the closest
+     * pathable block to it instead.
+     *
+     * @param board  - to search through.
+     * @param target - to measure the distances to.
+     * @throws NullPointerException if board or target is null.
+     */
+    public DistanceField(PacmanBoard board, Position target)
+            throws NullPointerException {
+        if (board == null || target == null) {
+            throw new NullPointerException();
+        }
+        this.width = board.getWidth();
+        this.height = board.getHeight();
+        this.layout = board.getLayoutVersion();
+        this.target = nearestPathable(board, target.getX(), target.getY());
+        this.distances = new int[width * height];
+        search(board);
+    }
+
+    /*
+     * Fills the distances breadth first outwards from the target.
+     */
+    private void search(PacmanBoard board) {
+        Arrays.fill(distances, UNREACHABLE);
+        if (target == null) {
+            return;
+        }
+        int[] queue = new int[distances.length];
+        int head = 0;
+        int tail = 0;
+        int start = target.getY() * width + target.getX();
+        distances[start] = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int index = queue[head++];
+            int x = index % width;
+            int y = index / width;
+            int next = distances[index] + 1;
+            int mask = board.getNeighbourMask(x, y);
+            if ((mask & Direction.UP.mask()) != 0) {
+                tail = visit(queue, tail, index - width, next);
+            }
+            if ((mask & Direction.DOWN.mask()) != 0) {
+                tail = visit(queue, tail, index + width, next);
+            }
+            if ((mask & Direction.LEFT.mask()) != 0) {
+                tail = visit(queue, tail, index - 1, next);
+            }
+            if ((mask & Direction.RIGHT.mask()) != 0) {
+                tail = visit(queue, tail, index + 1, next);
+            }
+        }
+    }
+
+    /*
+     * Queues a block if it has not been reached yet, returning the new
+     * tail of the queue.
+     */
+    private int visit(int[] queue, int tail, int index, int distance) {
+        if (distances[index] == UNREACHABLE) {
+            distances[index] = distance;
+            queue[tail++] = index;
+        }
+        return tail;
+    }
+
+    /*
+     * Finds the pathable block closest to the given coordinates once they
+     * are moved onto the board, looking in growing squares around them.
+     * Returns null if nothing is pathable.
+     */
+    private static Position nearestPathable(PacmanBoard board, int x,
+                                            int y) {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int cx = Math.max(0, Math.min(width - 1, x));
+        int cy = Math.max(0, Math.min(height - 1, y));
+        int rings = Math.max(width, height);
+        for (int r = 0; r < rings; r++) {
+            Position best = null;
+            long bestDistance = Long.MAX_VALUE;
+            int top = Math.max(0, cy - r);
+            int bottom = Math.min(height - 1, cy + r);
+            for (int j = top; j <= bottom; j++) {
+                // only the edge of the square is new at each ring
+                int step = (r == 0 || j == cy - r || j == cy + r) ? 1 : 2 * r;
+                for (int i = cx - r; i <= cx + r; i += step) {
+                    if (!board.isPathable(i, j)) {
+                        continue;
+                    }
+                    long dx = i - cx;
+                    long dy = j - cy;
+                    if (dx * dx + dy * dy < bestDistance) {
+                        bestDistance = dx * dx + dy * dy;
+                        best = Position.of(i, j);
+                    }
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of moves from a block to the target.
+     *
+     * @param x coordinate of the block.
+     * @param y coordinate of the block.
+     * @return the distance, or UNREACHABLE if the block is outside the
+     * board or has no path to the target.
+     */
+    public int distance(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return UNREACHABLE;
+        }
+        return distances[y * width + x];
+    }
+
+    /**
+     * Gets the pathable block that distances are measured to.
+     *
+     * @return the target block, or null if the board has no pathable
+     * blocks.
+     */
+    public Position getTarget() {
+        return target;
+    }
+
+    /**
+     * Gets the layout version of the board the field was computed for.
+     *
+     * @return the layout version.
+     */
+    public long getLayoutVersion() {
+        return layout;
+    }
+
+    /**
+     * Gets the approximate memory the field takes up.
+     *
+     * @return size of the field in bytes.
+     */
+    public long sizeInBytes() {
+        return 4L * distances.length;
+    }
+}
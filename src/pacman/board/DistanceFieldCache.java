@@ -0,0 +1,229 @@
+package pacman.board;
+
+import pacman.util.Position;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A least recently used cache of {@link DistanceField}s, one per board
+ * layout and target block, that holds at most a set number of bytes of
+ * fields.
+ *
+ * Fields are looked up by the layout version of the board, so copies of a
+ * board share fields and eating dots never invalidates them. Once a wall
+ * changes the board gets a new layout version and the old fields are no
+ * longer returned, falling out of the cache as newer fields are added.
+ *
+ * A cache may be shared between games and threads. Fields are computed
+ * outside of the cache's lock, so a slow search never holds up lookups
+ * of other fields; threads asking for a field that is being computed
+ * wait for it rather than computing it again.
+ */
+public class DistanceFieldCache {
+
+    /**
+     * The default number of bytes of fields held, 64 MiB.
+     */
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    // most bytes of fields to hold
+    private final long maxBytes;
+    // fields by layout version and target index, least recently used first
+    private final LinkedHashMap<Long, Slot> fields =
+            new LinkedHashMap<>(16, 0.75f, true);
+    // bytes of fields held, counted from when they start to be computed
+    private long bytes;
+    // lookups answered from the cache
+    private long hits;
+    // lookups that computed a new field
+    private long misses;
+
+    /**
+     * Creates a cache holding at most DEFAULT_MAX_BYTES of fields.
+     */
+    public DistanceFieldCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Creates a cache holding at most the given number of bytes of fields.
+     * A field bigger than the cap is still computed but never cached.
+     *
+     * @param maxBytes - most bytes of fields to hold.
+     * @throws IllegalArgumentException if maxBytes is negative.
+     */
+    public DistanceFieldCache(long maxBytes) throws IllegalArgumentException {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Gets the distances to a target on a board, computing them if they
+     * are not cached for the board's current layout.
+     *
+     * A target outside of the board is looked up by the block of the
+     * board closest to it, the same block DistanceField measures from,
+     * so every target resolves to its pathable block once per layout,
+     * when its field is computed. See {@link DistanceField}.
+     *
+     * @param board  - to measure distances through.
+     * @param target - to measure distances to.
+     * @return the distances to the target.
+     * @throws NullPointerException if board or target is null.
+     */
+    public DistanceField get(PacmanBoard board, Position target)
+            throws NullPointerException {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        int x = Math.max(0, Math.min(width - 1, target.getX()));
+        int y = Math.max(0, Math.min(height - 1, target.getY()));
+        long layout = board.getLayoutVersion();
+        // layouts wrap into the upper bits, so a hit is checked below
+        Long key = (layout << 32) | (y * width + x);
+        Slot slot;
+        boolean computing = false;
+        synchronized (this) {
+            slot = fields.get(key);
+            if (slot != null && slot.layout == layout) {
+                hits++;
+            } else {
+                misses++;
+                computing = true;
+                slot = put(key, new Slot(layout, 4L * width * height,
+                        new FutureTask<>(() -> new DistanceField(board,
+                                Position.of(x, y)))));
+            }
+        }
+        // search this thread's board outside of the lock, other threads
+        // asking for the field meanwhile wait for it below
+        if (computing) {
+            slot.field.run();
+        }
+        return slot.join();
+    }
+
+    /*
+     * Holds a new slot if it fits under the cap, returning it.
+     */
+    private Slot put(Long key, Slot slot) {
+        if (slot.bytes <= maxBytes) {
+            Slot old = fields.put(key, slot);
+            bytes += slot.bytes;
+            if (old != null) {
+                bytes -= old.bytes;
+            }
+            evict();
+        }
+        return slot;
+    }
+
+    /*
+     * Drops the least recently used fields until the cap is met. Threads
+     * waiting on a dropped field still get it once it is computed.
+     */
+    private void evict() {
+        Iterator<Map.Entry<Long, Slot>> eldest = fields.entrySet().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().bytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Removes every field from the cache.
+     */
+    public synchronized void clear() {
+        fields.clear();
+        bytes = 0;
+    }
+
+    /**
+     * Gets the number of fields held, including fields being computed.
+     *
+     * @return number of cached fields.
+     */
+    public synchronized int size() {
+        return fields.size();
+    }
+
+    /**
+     * Gets the number of bytes of fields held, including fields being
+     * computed.
+     *
+     * @return bytes held, at most the cap given at construction.
+     */
+    public synchronized long sizeInBytes() {
+        return bytes;
+    }
+
+    /**
+     * Gets the number of lookups answered without computing a field,
+     * including lookups that waited for another thread to compute it.
+     *
+     * @return cache hits.
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of lookups that computed a new field.
+     *
+     * @return cache misses.
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /*
+     * A cached field, which may still be being computed.
+     */
+    private static final class Slot {
+
+        // layout version the field is computed for
+        private final long layout;
+        // size of the field in bytes
+        private final long bytes;
+        // computes the field once, for every thread asking for it
+        private final FutureTask<DistanceField> field;
+
+        private Slot(long layout, long bytes,
+                     FutureTask<DistanceField> field) {
+            this.layout = layout;
+            this.bytes = bytes;
+            this.field = field;
+        }
+
+        /*
+         * Waits for the field to be computed, keeping any interrupt for
+         * the caller.
+         */
+        private DistanceField join() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return field.get();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw (Error) e.getCause();
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package pacman.board;
 
+import pacman.util.Direction;
 import pacman.util.Position;
+import pacman.util.Zobrist;
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * PacmanBoard
@@ -40,8 +43,30 @@ public class PacmanBoard {
     private int width;
     // height of the board
     private int height;
-    // the board grid
-    private BoardItem[][] board;
+    // the board grid, one array per row, each cell holds a BoardItem
+    // ordinal in its low bits and its neighbour mask above them
+    private byte[][] rows;
+    // whether each row may be shared with a copy of this board
+    private boolean[] shared;
+    // number of DOT and BIG_DOT items remaining on the board
+    private int pickups;
+    // zobrist hash of the items on the board
+    private long hash;
+    // position of the PACMAN_SPAWN, null if there is none
+    private Position pacmanSpawn;
+    // position of the GHOST_SPAWN, null if there is none
+    private Position ghostSpawn;
+    // identifies which blocks are pathable, shared with unchanged copies
+    private long layout;
+
+    // cached BoardItem values used to decode stored ordinals
+    private static final BoardItem[] ITEMS = BoardItem.values();
+    // bits of a cell holding the BoardItem ordinal
+    private static final int ITEM_BITS = 0x07;
+    // position of the neighbour mask within a cell
+    private static final int MASK_SHIFT = 3;
+    // source of layout versions, unique across every board
+    private static final AtomicLong LAYOUTS = new AtomicLong();
 
     /**
      * Constructor taking the width and height creating a board that
@@ -65,17 +90,29 @@ public class PacmanBoard {
 
         this.width = width;
         this.height = height;
-        this.board = new BoardItem[width][height];
-        
+        this.rows = new byte[height][width];
+        this.shared = new boolean[height];
+        this.layout = LAYOUTS.incrementAndGet();
+        Position.reserve(width, height);
+
         // setup board with walls around the edge, nothing on the inside
-        for (int i = 0; i < width; i++) {
-            for (int j = 0; j < height; j++) {
+        byte wall = (byte) BoardItem.WALL.ordinal();
+        byte none = (byte) BoardItem.NONE.ordinal();
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
                 if (j == 0 || j == (height - 1) ||
                         i == 0 || i == (width - 1)) {
-                    board[i][j] = BoardItem.WALL;
+                    rows[j][i] = wall;
                 } else {
-                    board[i][j] = BoardItem.NONE;
+                    rows[j][i] = none;
                 }
+                hash ^= cellKey(j * width + i, rows[j][i]);
+            }
+        }
+
+        for (int j = 0; j < height; j++) {
+            for (int i = 0; i < width; i++) {
+                rows[j][i] |= (byte) (computeMask(i, j) << MASK_SHIFT);
             }
         }
     }
@@ -86,6 +123,10 @@ public class PacmanBoard {
      * as the given board. When a change is made to the other board
      * this should not change this copy.
      *
+     * The rows of the board are shared between the two boards until one
+     * of them changes a row, so copying takes time in proportion to the
+     * height of the board only.
+     *
      * @param other copy of an existing PacmanBoard.
      * @throws NullPointerException if copy is null.
      * @ass1
@@ -97,11 +138,15 @@ public class PacmanBoard {
 
         this.width = other.width;
         this.height = other.height;
-        this.board = new BoardItem[width][height];
-        
-        for (int i = 0; i < width; i++) {
-            this.board[i] = other.board[i].clone();
-        }
+        this.rows = other.rows.clone();
+        this.shared = new boolean[height];
+        Arrays.fill(this.shared, true);
+        Arrays.fill(other.shared, true);
+        this.pickups = other.pickups;
+        this.hash = other.hash;
+        this.pacmanSpawn = other.pacmanSpawn;
+        this.ghostSpawn = other.ghostSpawn;
+        this.layout = other.layout;
     }
 
     /**
@@ -151,25 +196,127 @@ public class PacmanBoard {
         }
 
         // check position is valid
-        if (position.getX() < 0 || position.getY() < 0 ||
-                position.getX() >= width || position.getY() >= height) {
-            throw new IndexOutOfBoundsException();
+        int x = position.getX();
+        int y = position.getY();
+        checkBounds(x, y);
+
+        BoardItem old = replace(x, y, position, item);
+
+        // the neighbours of this block only change if its pathability did
+        if (old.getPathable() != item.getPathable()) {
+            layout = LAYOUTS.incrementAndGet();
+            for (Direction direction : Direction.values()) {
+                int nx = x + direction.offset().getX();
+                int ny = y + direction.offset().getY();
+                if (nx >= 0 && ny >= 0 && nx < width && ny < height) {
+                    byte[] neighbour = writableRow(ny);
+                    neighbour[nx] ^= (byte) (direction.opposite().mask()
+                            << MASK_SHIFT);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sets a whole row of the board at once, as if setEntry was called for
+     * each block of the row from left to right.
+     *
+     * @param y     the row to set.
+     * @param items the board items to place in the row, one per column.
+     * @throws IndexOutOfBoundsException when the row is not within the
+     *          board.
+     * @throws IllegalArgumentException when the number of items is not
+     *          the width of the board.
+     * @throws NullPointerException when items or any item is null.
+     */
+    public void setRow(int y, BoardItem[] items) throws
+            IndexOutOfBoundsException, IllegalArgumentException,
+            NullPointerException {
+        checkBounds(0, y);
+        if (items.length != width) {
+            throw new IllegalArgumentException();
+        }
+        for (BoardItem item : items) {
+            if (item == null) {
+                throw new NullPointerException();
+            }
+        }
+
+        boolean pathabilityChanged = false;
+        for (int x = 0; x < width; x++) {
+            BoardItem old = ITEMS[rows[y][x] & ITEM_BITS];
+            if (old != items[x]) {
+                replace(x, y, Position.of(x, y), items[x]);
+                pathabilityChanged |=
+                        old.getPathable() != items[x].getPathable();
+            }
+        }
+
+        // recompute the masks of this row and the rows next to it
+        if (pathabilityChanged) {
+            layout = LAYOUTS.incrementAndGet();
+            for (int j = Math.max(0, y - 1); j <= Math.min(height - 1, y + 1);
+                 j++) {
+                byte[] masked = writableRow(j);
+                for (int i = 0; i < width; i++) {
+                    masked[i] = (byte) ((masked[i] & ITEM_BITS)
+                            | (computeMask(i, j) << MASK_SHIFT));
+                }
+            }
         }
+    }
 
+    /*
+     * Replaces the item of a block, keeping the spawns, pickup count and
+     * hash in step but not the neighbour masks. Returns the old item.
+     */
+    private BoardItem replace(int x, int y, Position position,
+                              BoardItem item) {
         // ensure only one PACMAN_SPAWN/GHOST_SPAWN on board at a time
+        if (item == BoardItem.PACMAN_SPAWN && pacmanSpawn != null) {
+            setEntry(pacmanSpawn, BoardItem.NONE);
+        } else if (item == BoardItem.GHOST_SPAWN && ghostSpawn != null) {
+            setEntry(ghostSpawn, BoardItem.NONE);
+        }
+
+        BoardItem old = ITEMS[rows[y][x] & ITEM_BITS];
+        if (isPickup(old)) {
+            pickups--;
+        }
+        if (isPickup(item)) {
+            pickups++;
+        }
+
+        // keep the spawn positions in step with the grid
+        if (old == BoardItem.PACMAN_SPAWN) {
+            pacmanSpawn = null;
+        } else if (old == BoardItem.GHOST_SPAWN) {
+            ghostSpawn = null;
+        }
         if (item == BoardItem.PACMAN_SPAWN) {
-            Position spawn = getPacmanSpawn();
-            if (spawn != null) {
-                setEntry(spawn, BoardItem.NONE);
-            }
+            pacmanSpawn = position;
         } else if (item == BoardItem.GHOST_SPAWN) {
-            Position spawn = getGhostSpawn();
-            if (spawn != null) {
-                setEntry(spawn, BoardItem.NONE);
-            }
+            ghostSpawn = position;
         }
 
-        board[position.getX()][position.getY()] = item;
+        int index = y * width + x;
+        hash ^= cellKey(index, old.ordinal())
+                ^ cellKey(index, item.ordinal());
+        byte[] row = writableRow(y);
+        row[x] = (byte) ((row[x] & ~ITEM_BITS) | item.ordinal());
+        return old;
+    }
+
+    /*
+     * Gets a row that this board can write to, first taking a private
+     * copy of the row if it may be shared with a copy of this board.
+     */
+    private byte[] writableRow(int y) {
+        if (shared[y]) {
+            rows[y] = rows[y].clone();
+            shared[y] = false;
+        }
+        return rows[y];
     }
 
     /**
@@ -188,7 +335,92 @@ public class PacmanBoard {
             throw new NullPointerException();
         }
 
-        return board[position.getX()][position.getY()];
+        return getEntry(position.getX(), position.getY());
+    }
+
+    /**
+     * Returns what item the board has at the given coordinates.
+     *
+     * @param x coordinate wanting to be checked
+     * @param y coordinate wanting to be checked
+     * @return BoardItem at the location given.
+     * @throws IndexOutOfBoundsException when the coordinates are not
+     *                                   within the board.
+     */
+    public BoardItem getEntry(int x, int y) throws IndexOutOfBoundsException {
+        checkBounds(x, y);
+        return ITEMS[rows[y][x] & ITEM_BITS];
+    }
+
+    /**
+     * Checks if the item at the given coordinates can be walked on.
+     * Any coordinates outside of the board are not pathable.
+     *
+     * @param x coordinate wanting to be checked
+     * @param y coordinate wanting to be checked
+     * @return true if the coordinates are within the board and the
+     * item there is pathable, false otherwise.
+     */
+    public boolean isPathable(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height
+                && ITEMS[rows[y][x] & ITEM_BITS].getPathable();
+    }
+
+    /**
+     * Gets which of the four blocks next to the given coordinates are
+     * pathable. The result has the bit {@link Direction#mask()} set for
+     * every direction whose neighbouring block is within the board and
+     * pathable.
+     *
+     * @param x coordinate of the block
+     * @param y coordinate of the block
+     * @return mask of the directions that can be moved in.
+     */
+    public int getNeighbourMask(int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return computeMask(x, y);
+        }
+        return rows[y][x] >> MASK_SHIFT;
+    }
+
+    /**
+     * Gets the version of which blocks of the board are pathable. The
+     * version changes whenever a block changes between pathable and not
+     * pathable, and no two boards with a different size or different
+     * pathable blocks ever share a version. A copy of a board keeps its
+     * version until either board changes a wall.
+     *
+     * Anything computed from the pathable blocks alone, such as
+     * distances through the maze, stays valid while the version is the
+     * same.
+     *
+     * @return the layout version of the board.
+     */
+    public long getLayoutVersion() {
+        return layout;
+    }
+
+    /*
+     * Computes the neighbour mask of the given coordinates from the grid.
+     */
+    private int computeMask(int x, int y) {
+        int mask = 0;
+        for (Direction direction : Direction.values()) {
+            if (isPathable(x + direction.offset().getX(),
+                    y + direction.offset().getY())) {
+                mask |= direction.mask();
+            }
+        }
+        return mask;
+    }
+
+    /*
+     * Checks that the given coordinates are within the board.
+     */
+    private void checkBounds(int x, int y) throws IndexOutOfBoundsException {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IndexOutOfBoundsException();
+        }
     }
 
     /**
@@ -228,7 +460,7 @@ public class PacmanBoard {
      * @ass1
      */
     public Position getGhostSpawn() {
-        return getSpawn(BoardItem.GHOST_SPAWN);
+        return ghostSpawn;
     }
 
     /**
@@ -239,22 +471,7 @@ public class PacmanBoard {
      * @ass1
      */
     public Position getPacmanSpawn() {
-        return getSpawn(BoardItem.PACMAN_SPAWN);
-    }
-
-    /*
-     * Gets the portion of a given spawn type.
-     */
-    private Position getSpawn(BoardItem spawnType) {
-        for (int x = 0; x < getWidth(); x++) {
-            for (int y = 0; y < getHeight(); y++) {
-                if (board[x][y] == spawnType) {
-                    return new Position(x, y);
-                }
-            }
-        }
-
-        return null;
+        return pacmanSpawn;
     }
 
 
@@ -266,16 +483,23 @@ public class PacmanBoard {
      * @ass1
      */
     public boolean isEmpty() {
-        for (int x = 0; x < getWidth(); x++) {
-            for (int y = 0; y < getHeight(); y++) {
-                if (board[x][y] == BoardItem.DOT
-                        || board[x][y] == BoardItem.BIG_DOT) {
-                    return false;
-                }
-            }
-        }
+        return pickups == 0;
+    }
 
-        return true;
+    /**
+     * Gets the number of pickup items left on the board.
+     *
+     * @return the number of DOT's and BIG_DOT's on the board.
+     */
+    public int remainingPickups() {
+        return pickups;
+    }
+
+    /*
+     * Checks if an item counts towards the remaining pickups.
+     */
+    private static boolean isPickup(BoardItem item) {
+        return item == BoardItem.DOT || item == BoardItem.BIG_DOT;
     }
 
     /**
@@ -286,17 +510,49 @@ public class PacmanBoard {
      * @ass1
      */
     public void reset() {
-        for (int x = 0; x < getWidth(); x++) {
-            for (int y = 0; y < getHeight(); y++) {
-                if (board[x][y] == BoardItem.NONE) {
-                    board[x][y] = BoardItem.DOT;
-                } else if (board[x][y] == BoardItem.BIG_DOT_SPAWN) {
-                    board[x][y] = BoardItem.BIG_DOT;
+        int none = BoardItem.NONE.ordinal();
+        int dot = BoardItem.DOT.ordinal();
+        int bigDotSpawn = BoardItem.BIG_DOT_SPAWN.ordinal();
+        int bigDot = BoardItem.BIG_DOT.ordinal();
+        for (int j = 0; j < height; j++) {
+            byte[] row = rows[j];
+            for (int i = 0; i < width; i++) {
+                int item = row[i] & ITEM_BITS;
+                int respawn;
+                if (item == none) {
+                    respawn = dot;
+                } else if (item == bigDotSpawn) {
+                    respawn = bigDot;
+                } else {
+                    continue;
                 }
+                row = writableRow(j);
+                row[i] = (byte) ((row[i] & ~ITEM_BITS) | respawn);
+                pickups++;
+                hash ^= cellKey(j * width + i, item)
+                        ^ cellKey(j * width + i, respawn);
             }
         }
     }
 
+    /**
+     * Gets a 64-bit hash of the board's size and items. The hash is
+     * kept up to date as items change so this takes constant time.
+     * Equal boards always have equal hashes.
+     *
+     * @return zobrist hash of the board.
+     */
+    public long stateHash() {
+        return Zobrist.combine(Zobrist.combine(hash, width), height);
+    }
+
+    /*
+     * Gets the zobrist key for an item ordinal at a cell index.
+     */
+    private static long cellKey(int index, int item) {
+        return Zobrist.key(((long) index << 3) | item);
+    }
+
     /**
      * Checks if another object instance is equal to this instance. Boards
      * are equal if they have the same dimensions (width, height) and have
@@ -311,20 +567,16 @@ public class PacmanBoard {
             return false;
         }
         PacmanBoard b = (PacmanBoard) o;
-        if (this.height == b.getHeight() && this.width == b.getWidth()) {
-            // check all boardItems
-            for (int i = 0; i < b.getWidth(); i++) {
-                for (int j = 0; j < b.getHeight(); j++) {
-                    Position p = new Position(i, j);
-                    if (this.getEntry(p) != (b.getEntry(p))) {
-                        return false;
-                    }
-                }
-            }
-            return true;
-        } else {
+        // check dimensions then all boardItems
+        if (this.height != b.getHeight() || this.width != b.getWidth()) {
             return false;
         }
+        for (int j = 0; j < height; j++) {
+            if (!Arrays.equals(this.rows[j], b.rows[j])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -335,7 +587,7 @@ public class PacmanBoard {
      */
     @Override
     public int hashCode() {
-        return width * height;
+        return Zobrist.fold(stateHash());
     }
 
     /**
@@ -356,7 +608,7 @@ public class PacmanBoard {
         StringBuilder indexes = new StringBuilder();
         for (int j = 0; j < height; j++) {
             for (int i = 0; i < width; i++) {
-                indexes.append(board[i][j].getChar());
+                indexes.append(ITEMS[rows[j][i] & ITEM_BITS].getChar());
             } if (j < height - 1) {
                 indexes.append(System.lineSeparator());
             }
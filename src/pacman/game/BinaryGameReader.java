@@ -0,0 +1,226 @@
+package pacman.game;
+
+import pacman.board.BoardItem;
+import pacman.board.PacmanBoard;
+import pacman.ghost.Ghost;
+import pacman.ghost.GhostType;
+import pacman.ghost.Phase;
+import pacman.hunter.Hunter;
+import pacman.hunter.HunterType;
+import pacman.util.Direction;
+import pacman.util.Position;
+import pacman.util.UnpackableException;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads in a game saved by the {@link BinaryGameWriter} and returns a
+ * game instance. See {@link BinaryGameWriter} for the format.
+ */
+public class BinaryGameReader {
+
+    // cached enum values used to decode stored ordinals
+    private static final BoardItem[] ITEMS = BoardItem.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Phase[] PHASES = Phase.values();
+    private static final HunterType[] HUNTERS = HunterType.values();
+    private static final GhostType[] GHOSTS = GhostType.values();
+    // most blocks a saved board may have
+    static final int MAX_CELLS = 1 << 26;
+    // most bytes a saved string may have
+    static final int MAX_STRING = 1 << 16;
+
+    /**
+     * Reads in a game saved in the binary format. The stream is closed
+     * afterwards.
+     *
+     * The save is invalid if it does not start with the magic bytes and
+     * a supported version, if any ordinal is out of range, if lives,
+     * level, score or a phase duration is negative, if an entity is off
+     * the board, if it ends early or if there is data after the scores.
+     * Boards of more than 2^26 blocks and strings of more than 2^16 bytes
+     * are also invalid, and nothing is allocated for a board or string
+     * until its bytes have actually been read, so a corrupt size fails
+     * rather than running out of memory.
+     *
+     * @param input - to read the save game from.
+     * @return a PacmanGame that reflects the state from the stream.
+     * @throws UnpackableException - when the saved data is invalid.
+     * @throws IOException - when unable to read from the stream.
+     */
+    public static PacmanGame read(InputStream input)
+            throws UnpackableException, IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(input))) {
+            for (byte magic : BinaryGameWriter.MAGIC) {
+                if (in.readByte() != magic) {
+                    throw new UnpackableException();
+                }
+            }
+            if (in.readUnsignedByte() != BinaryGameWriter.VERSION) {
+                throw new UnpackableException();
+            }
+            PacmanBoard board = readBoard(in);
+
+            String title = readString(in);
+            String author = readString(in);
+            int lives = readVarint(in);
+            int level = readVarint(in);
+            int score = readVarint(in);
+
+            Position position = readPosition(in, board);
+            Direction direction = ordinal(DIRECTIONS, in.readUnsignedByte());
+            int special = in.readInt();
+            Hunter hunter = ordinal(HUNTERS, in.readUnsignedByte())
+                    .newHunter();
+            hunter.setPosition(position);
+            hunter.setDirection(direction);
+            hunter.activateSpecial(special);
+
+            PacmanGame game = new PacmanGame(title, author, hunter, board);
+            game.setLives(lives);
+            game.setLevel(level);
+            game.getScores().increaseScore(score);
+
+            Ghost[] ghosts = new Ghost[GHOSTS.length];
+            for (Ghost g : game.getGhosts()) {
+                ghosts[g.getType().ordinal()] = g;
+            }
+            for (Ghost g : ghosts) {
+                g.setPosition(readPosition(in, board));
+                g.setDirection(ordinal(DIRECTIONS, in.readUnsignedByte()));
+                Phase phase = ordinal(PHASES, in.readUnsignedByte());
+                int duration = in.readInt();
+                if (duration < 0) {
+                    throw new UnpackableException();
+                }
+                g.setPhase(phase, duration);
+            }
+
+            int entries = readVarint(in);
+            for (int i = 0; i < entries; i++) {
+                String name = readString(in);
+                game.getScores().setScore(name, readVarint(in));
+            }
+            if (in.read() != -1) {
+                throw new UnpackableException();
+            }
+            return game;
+        } catch (EOFException e) {
+            throw new UnpackableException();
+        }
+    }
+
+    /*
+     * Reads the board dimensions and decodes its packed cells.
+     */
+    private static PacmanBoard readBoard(DataInputStream in)
+            throws UnpackableException, IOException {
+        int width = readVarint(in);
+        int height = readVarint(in);
+        if (width <= 0 || height <= 0
+                || (long) width * height > MAX_CELLS) {
+            throw new UnpackableException();
+        }
+        // read every packed cell before allocating the board
+        int cells = width * height;
+        byte[] packed = readBytes(in, (int) (((long) cells
+                * BinaryGameWriter.CELL_BITS + Byte.SIZE - 1) / Byte.SIZE));
+        PacmanBoard board = new PacmanBoard(width, height);
+        int cellMask = (1 << BinaryGameWriter.CELL_BITS) - 1;
+        int bits = 0;
+        int buffered = 0;
+        int next = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (buffered < BinaryGameWriter.CELL_BITS) {
+                    bits |= (packed[next++] & 0xFF) << buffered;
+                    buffered += Byte.SIZE;
+                }
+                BoardItem item = ordinal(ITEMS, bits & cellMask);
+                bits >>>= BinaryGameWriter.CELL_BITS;
+                buffered -= BinaryGameWriter.CELL_BITS;
+                // new boards are already walled and empty
+                if (board.getEntry(x, y) != item) {
+                    board.setEntry(Position.of(x, y), item);
+                }
+            }
+        }
+        return board;
+    }
+
+    /*
+     * Reads an x and y that must be on the board.
+     */
+    private static Position readPosition(DataInputStream in,
+                                         PacmanBoard board)
+            throws UnpackableException, IOException {
+        int x = in.readInt();
+        int y = in.readInt();
+        if (x < 0 || y < 0 || x >= board.getWidth()
+                || y >= board.getHeight()) {
+            throw new UnpackableException();
+        }
+        return Position.of(x, y);
+    }
+
+    /*
+     * Reads a length-prefixed UTF-8 string.
+     */
+    private static String readString(DataInputStream in)
+            throws UnpackableException, IOException {
+        int length = readVarint(in);
+        if (length > MAX_STRING) {
+            throw new UnpackableException();
+        }
+        return new String(readBytes(in, length), StandardCharsets.UTF_8);
+    }
+
+    /*
+     * Reads exactly the given number of bytes, growing the buffer only as
+     * bytes arrive so a length past the end of the input fails cheaply.
+     */
+    private static byte[] readBytes(DataInputStream in, int length)
+            throws UnpackableException, IOException {
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new UnpackableException();
+        }
+        return bytes;
+    }
+
+    /*
+     * Reads an unsigned LEB128 varint that must fit a non-negative int.
+     */
+    private static int readVarint(DataInputStream in)
+            throws UnpackableException, IOException {
+        long value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value > Integer.MAX_VALUE) {
+                    throw new UnpackableException();
+                }
+                return (int) value;
+            }
+        }
+        throw new UnpackableException();
+    }
+
+    /*
+     * Gets the enum value with the given ordinal.
+     */
+    private static <T> T ordinal(T[] values, int ordinal)
+            throws UnpackableException {
+        if (ordinal >= values.length) {
+            throw new UnpackableException();
+        }
+        return values[ordinal];
+    }
+}
@@ -0,0 +1,147 @@
+package pacman.game;
+
+import pacman.board.PacmanBoard;
+import pacman.ghost.Ghost;
+import pacman.ghost.GhostType;
+import pacman.hunter.Hunter;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Writes the PacmanGame to a compact binary format that is read back by
+ * the {@link BinaryGameReader}. A binary save holds the same state as a
+ * {@link GameWriter} save.
+ *
+ * <h3>Binary format (version 1)</h3>
+ * Integers are big-endian. A varint is an unsigned LEB128 integer: seven
+ * bits per byte, lowest bits first, with the top bit set on every byte
+ * but the last. A string is a varint byte length followed by UTF-8 bytes.
+ * <ol>
+ *     <li>The magic bytes "PMGB" then a version byte.</li>
+ *     <li>The board: varint width, varint height then every cell in
+ *     row order as the 3-bit BoardItem ordinal, packed lowest bits first
+ *     and padded with zero bits to a whole byte.</li>
+ *     <li>Title and author strings, then varint lives, level and
+ *     score.</li>
+ *     <li>The hunter as a 14 byte record: int x, int y, byte Direction
+ *     ordinal, int special duration, byte HunterType ordinal.</li>
+ *     <li>One 14 byte record per ghost in GhostType order: int x, int y,
+ *     byte Direction ordinal, byte Phase ordinal, int phase
+ *     duration.</li>
+ *     <li>The scores: varint number of entries then, ordered by name,
+ *     each name string and varint value.</li>
+ * </ol>
+ */
+public class BinaryGameWriter {
+
+    // first bytes of every binary save
+    static final byte[] MAGIC = {'P', 'M', 'G', 'B'};
+    // version of the format written
+    static final int VERSION = 1;
+    // bits used by each board cell
+    static final int CELL_BITS = 3;
+
+    /**
+     * Saves a PacmanGame to an output stream in the binary format.
+     * The stream is closed afterwards.
+     *
+     * @param output - to output the data to.
+     * @param game - to encode into the save data format.
+     * @throws IOException - during an issue with saving to the stream.
+     */
+    public static void write(OutputStream output, PacmanGame game)
+            throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(output))) {
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            writeBoard(out, game.getBoard());
+
+            writeString(out, game.getTitle());
+            writeString(out, game.getAuthor());
+            writeVarint(out, game.getLives());
+            writeVarint(out, game.getLevel());
+            writeVarint(out, game.getScores().getScore());
+
+            Hunter hunter = game.getHunter();
+            out.writeInt(hunter.getPosition().getX());
+            out.writeInt(hunter.getPosition().getY());
+            out.writeByte(hunter.getDirection().ordinal());
+            out.writeInt(hunter.getSpecialDurationRemaining());
+            out.writeByte(hunter.getType().ordinal());
+
+            Ghost[] ghosts = new Ghost[GhostType.values().length];
+            for (Ghost g : game.getGhosts()) {
+                ghosts[g.getType().ordinal()] = g;
+            }
+            for (Ghost g : ghosts) {
+                out.writeInt(g.getPosition().getX());
+                out.writeInt(g.getPosition().getY());
+                out.writeByte(g.getDirection().ordinal());
+                out.writeByte(g.getPhase().ordinal());
+                out.writeInt(g.getPhaseDuration());
+            }
+
+            Map<String, Integer> scores = game.getScores().getEntries();
+            writeVarint(out, scores.size());
+            for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                writeString(out, entry.getKey());
+                writeVarint(out, entry.getValue());
+            }
+        }
+    }
+
+    /*
+     * Writes the board dimensions and its packed cells.
+     */
+    private static void writeBoard(DataOutputStream out, PacmanBoard board)
+            throws IOException {
+        int width = board.getWidth();
+        int height = board.getHeight();
+        writeVarint(out, width);
+        writeVarint(out, height);
+        int bits = 0;
+        int buffered = 0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                bits |= board.getEntry(x, y).ordinal() << buffered;
+                buffered += CELL_BITS;
+                if (buffered >= Byte.SIZE) {
+                    out.writeByte(bits);
+                    bits >>>= Byte.SIZE;
+                    buffered -= Byte.SIZE;
+                }
+            }
+        }
+        if (buffered > 0) {
+            out.writeByte(bits);
+        }
+    }
+
+    /*
+     * Writes a length-prefixed UTF-8 string.
+     */
+    private static void writeString(DataOutputStream out, String value)
+            throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /*
+     * Writes a non-negative integer as an unsigned LEB128 varint.
+     */
+    private static void writeVarint(DataOutputStream out, int value)
+            throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
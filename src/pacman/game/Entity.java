@@ -2,6 +2,7 @@ package pacman.game;
 
 import pacman.util.Direction;
 import pacman.util.Position;
+import pacman.util.Zobrist;
 
 /**
  * Entity
@@ -22,7 +23,7 @@ public abstract class Entity implements Moveable {
      * @ass1
      */
     public Entity() {
-        position = new Position(0, 0);
+        position = Position.of(0, 0);
         direction = Direction.UP;
     }
 
@@ -114,6 +115,20 @@ public abstract class Entity implements Moveable {
         return position.hashCode() + direction.hashCode();
     }
 
+    /**
+     * Gets a 64-bit hash of this entity's position and direction that is
+     * stable between runs, for telling game states apart. Entities of
+     * different classes hash differently.
+     *
+     * @return hash of the entity's state.
+     */
+    public long stateHash() {
+        long hash = Zobrist.key(getClass().getName().hashCode());
+        hash = Zobrist.combine(hash, position.getX());
+        hash = Zobrist.combine(hash, position.getY());
+        return Zobrist.combine(hash, direction.ordinal());
+    }
+
     /**
      * Represents this entity in a comma-seperated string format. Format is:
      * "x,y,DIRECTION", where DIRECTION is the uppercase enum type value.
@@ -5,7 +5,8 @@ import pacman.board.PacmanBoard;
 import pacman.ghost.Ghost;
 import pacman.ghost.GhostType;
 import pacman.ghost.Phase;
-import pacman.hunter.*;
+import pacman.hunter.Hunter;
+import pacman.hunter.HunterType;
 import pacman.util.Direction;
 import pacman.util.Position;
 import pacman.util.UnpackableException;
@@ -13,16 +14,39 @@ import pacman.util.UnpackableException;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
 
 /**
  * GameReader Reads in a saved games state and returns a game instance.
+ *
+ * The save is parsed in a single pass over the reader: each line is
+ * validated as soon as it is read, board rows are decoded straight into
+ * the PacmanBoard and scores straight into the game's ScoreBoard, so no
+ * more than one line of the save is held in memory at a time.
  */
 public class GameReader {
 
+    // no block has been read yet
+    private static final int NO_BLOCK = 0;
+    // reading the [Board] block
+    private static final int BOARD = 1;
+    // reading the [Game] block
+    private static final int GAME = 2;
+    // reading the [Scores] block
+    private static final int SCORES = 3;
+
+    // keys of the [Game] block, one value per key is required
+    private static final String[] KEYS = {"title", "author", "lives",
+        "level", "score", "hunter", "blinky", "inky", "pinky", "clyde"};
+
+    // BoardItem for each character key, null if the key is invalid
+    private static final BoardItem[] ITEM_KEYS = new BoardItem[128];
+
+    static {
+        for (BoardItem item : BoardItem.values()) {
+            ITEM_KEYS[item.getChar()] = item;
+        }
+    }
+
     /**
      * Reads in a game according to the the following specification:
      * A Game File has 3 blocks ( Board, Game, Scores ) which must be in
@@ -75,373 +99,327 @@ public class GameReader {
      */
     public static PacmanGame read(Reader reader)
             throws UnpackableException, IOException {
-        BufferedReader in = new BufferedReader(reader);
-        List<String> fileInfo = new ArrayList<String>();
-        String line = null;
-        int width = 1;
-        int height = 1;
-        List<String> boarditemsL = null;
-        String title = null;
-        String author = null;
-        int lives = 0;
-        int level = 0;
-        int score = 0;
-        String hunterStr = null;
-        String blinkyStr = null;
-        String inkyStr = null;
-        String pinkyStr = null;
-        String clydeStr = null;
-        List<String> scoresL = null;
-        // read all lines in a list without leading and trailing white space
-        while ((line = in.readLine()) != null) {
-            fileInfo.add(line.trim());
-        }
-        in.close();
-        try {
-            check0(fileInfo);
-        } catch (Exception ea) {
-            throw new UnpackableException();
-        }
-        try {
-            // remove blank lines and comments
-            Iterator<String> fileIterator = fileInfo.iterator();
-            while (fileIterator.hasNext()) {
-                String element = fileIterator.next();
-                if ("".equals(element) || ";".equals(element.substring(0, 1))) {
-                    fileIterator.remove();
-                }
-            } try {
-                check1(fileInfo);
-            } catch (Exception eb) {
-                throw new UnpackableException();
+        try (BufferedReader in = new BufferedReader(reader)) {
+            Parser parser = new Parser();
+            String line;
+            while ((line = in.readLine()) != null) {
+                parser.line(line.trim());
             }
-            // get all required information
-            for (int i = 0; i < fileInfo.size(); i++) {
-                if ("[Board]".equals(fileInfo.get(i))) {
-                    width = Integer.parseInt(fileInfo.get(i + 1)
-                            .split(",")[0]);
-                    height = Integer.parseInt(fileInfo.get(i + 1)
-                            .split(",")[1]);
-                    boarditemsL = fileInfo.subList(i + 2, i + 2 + height);
-                } else if ("[Game]".equals(fileInfo.get(i))) {
-                    title = fileInfo.get(i + 1).split(" = ")[1];
-                    author = fileInfo.get(i + 2).split(" = ")[1];
-                    lives = Integer.parseInt(fileInfo.get(i + 3)
-                            .split(" = ")[1]);
-                    level = Integer.parseInt(fileInfo.get(i + 4)
-                            .split(" = ")[1]);
-                    score = Integer.parseInt(fileInfo.get(i + 5)
-                            .split(" = ")[1]);
-                    hunterStr = fileInfo.get(i + 6).split(" = ")[1];
-                    blinkyStr = fileInfo.get(i + 7).split(" = ")[1];
-                    inkyStr = fileInfo.get(i + 8).split(" = ")[1];
-                    pinkyStr = fileInfo.get(i + 9).split(" = ")[1];
-                    clydeStr = fileInfo.get(i + 10).split(" = ")[1];
-                } else if ("[Scores]".equals(fileInfo.get(i))) {
-                    scoresL = fileInfo.subList(i + 1, fileInfo.size());
-                }
-            }
-            // set BoardItems (using setBoarditems() method)
-            PacmanBoard pacBoard = new PacmanBoard(width, height);
-            setBoarditems(boarditemsL, width, height, pacBoard);
-            // get hunter (using setHunter() method)
-            Hunter hunter = setHunter(hunterStr);
-            // set all game information
-            PacmanGame game = new PacmanGame(title, author, hunter, pacBoard);
-            game.setLives(lives);
-            game.setLevel(level);
-            game.getScores().increaseScore(score);
-            if (scoresL.size() >= 1) {
-                for (String s : scoresL) {
-                    game.getScores().setScore(s.split(" : ")[0],
-                            Integer.parseInt(s.split(" : ")[1]));
-                }
-            }
-            // set ghosts (using setGhost() method)
-            setGhost(blinkyStr, inkyStr, pinkyStr, clydeStr, game);
-            return game;
-        } catch (Exception e) {
+            return parser.finish();
+        } catch (RuntimeException e) {
+            // malformed numbers, enum names and missing fields
             throw new UnpackableException();
         }
     }
 
     /**
-     * helper method to set BoardItems.
+     * Gets the BoardItem for a character key of a saved board.
      *
-     * @param boarditemsL all boarditems information from file
-     * @param width game board width
-     * @param height game board height
-     * @param pacBoard new Pacmanboard to be copied
-     * @throws UnpackableException - when the saved data is invalid.
+     * @param key - character of the item.
+     * @return the item with the given key.
+     * @throws UnpackableException - if no item has the key.
      */
-    private static void setBoarditems(List<String> boarditemsL, int width,
-                                      int height, PacmanBoard pacBoard)
-            throws UnpackableException {
-        BoardItem boardItem = null;
-        List<BoardItem> boardItems = new ArrayList<>();
-        for (String s : boarditemsL) {
-            char[] board = s.toCharArray();
-            for (char c : board) {
-                if (c == (char) 88) {
-                    boardItem = BoardItem.WALL;
-                } else if (c == (char) 49) {
-                    boardItem = BoardItem.DOT;
-                } else if (c == (char) 48) {
-                    boardItem = BoardItem.NONE;
-                } else if (c == (char) 66) {
-                    boardItem = BoardItem.BIG_DOT;
-                } else if (c == (char) 36) {
-                    boardItem = BoardItem.GHOST_SPAWN;
-                } else if (c == (char) 80) {
-                    boardItem = BoardItem.PACMAN_SPAWN;
-                } else if (c == (char) 98) {
-                    boardItem = BoardItem.BIG_DOT_SPAWN;
-                } else {
-                    throw new UnpackableException();
-                }
-                boardItems.add(boardItem);
-            }
-        }
-        int n = 0;
-        for (int j = 0; j < height; j++) {
-            for (int i = 0; i < width; i++) {
-                Position p = new Position(i, j);
-                pacBoard.setEntry(p, boardItems.get(n));
-                n++;
-            }
-        }
-    }
-
-    /**
-     * helper method to set Hunter.
-     *
-     * @param hunterStr hunter information from file
-     * @return hunter to be copied in the game
-     * @throws UnpackableException - when the saved data is invalid.
-     */
-    private static Hunter setHunter(String hunterStr)
-            throws UnpackableException {
-        int hunterX = Integer.parseInt(hunterStr.split(",")[0]);
-        int hunterY = Integer.parseInt(hunterStr.split(",")[1]);
-        Direction hunterD = Direction.valueOf(hunterStr.split(",")[2]);
-        int hunterS = Integer.parseInt(hunterStr.split(",")[3]);
-        HunterType hunterT = HunterType.valueOf(hunterStr.split(",")[4]);
-        Hunter hunter = null;
-        if (hunterT == HunterType.PHIL) {
-            hunter = new Phil();
-        } else if (hunterT == HunterType.HUNGRY) {
-            hunter = new Hungry();
-        } else if (hunterT == HunterType.PHASEY) {
-            hunter = new Phasey();
-        } else if (hunterT == HunterType.SPEEDY) {
-            hunter = new Speedy();
-        } else {
+    static BoardItem item(int key) throws UnpackableException {
+        BoardItem item = key >= 0 && key < ITEM_KEYS.length
+                ? ITEM_KEYS[key] : null;
+        if (item == null) {
             throw new UnpackableException();
         }
-        hunter.setPosition(new Position(hunterX, hunterY));
-        hunter.setDirection(hunterD);
-        hunter.activateSpecial(hunterS);
-        return hunter;
+        return item;
     }
 
     /**
-     * helper method to set Ghosts.
-     *
-     * @param blinkyStr blinky information from file
-     * @param inkyStr inky information from file
-     * @param pinkyStr pinky inforamtion from file
-     * @param clydeStr clyde information from file
-     * @param game game need to be copied
-     * @throws UnpackableException - when the saved data is invalid.
+     * Parses a save one trimmed line at a time. Board rows can also be
+     * given already decoded, see {@link #expectsRow()}.
      */
-    private static void setGhost(String blinkyStr, String inkyStr,
-                                 String pinkyStr, String clydeStr,
-                                 PacmanGame game) throws UnpackableException {
-        int blinkX = Integer.parseInt(blinkyStr.split(",")[0]);
-        int blinkY = Integer.parseInt(blinkyStr.split(",")[1]);
-        Direction blinkyD = Direction.valueOf(blinkyStr.split(",")[2]);
-        Phase blinkyP = Phase.valueOf(blinkyStr.split(",")[3]
-                .split(":")[0]);
-        int blinkyS = Integer.parseInt(blinkyStr.split(",")[3]
-                .split(":")[1]);
+    static final class Parser {
 
-        int inkyX = Integer.parseInt(inkyStr.split(",")[0]);
-        int inkyY = Integer.parseInt(inkyStr.split(",")[1]);
-        Direction inkyD = Direction.valueOf(inkyStr.split(",")[2]);
-        Phase inkyP = Phase.valueOf(inkyStr.split(",")[3]
-                .split(":")[0]);
-        int inkyS = Integer.parseInt(inkyStr.split(",")[3]
-                .split(":")[1]);
+        // block currently being read
+        private int block = NO_BLOCK;
+        // blank lines read in the current block
+        private int blanks;
+        // board being filled, null until the dimensions are read
+        private PacmanBoard board;
+        // next board row to fill
+        private int row;
+        // buffer a board row is decoded into
+        private BoardItem[] items;
+        // values of the [Game] block in the order of KEYS, null if unset
+        private final String[] values = new String[KEYS.length];
+        // lives of the game
+        private int lives;
+        // level of the game
+        private int level;
+        // current score of the game
+        private int score;
+        // hunter of the game
+        private Hunter hunter;
+        // ghost positions indexed by GhostType ordinal
+        private final Position[] positions =
+                new Position[GhostType.values().length];
+        // ghost directions indexed by GhostType ordinal
+        private final Direction[] directions = new Direction[positions.length];
+        // ghost phases indexed by GhostType ordinal
+        private final Phase[] phases = new Phase[positions.length];
+        // ghost phase durations indexed by GhostType ordinal
+        private final int[] durations = new int[positions.length];
+        // game built once the [Game] block is complete
+        private PacmanGame game;
 
-        int pinkyX = Integer.parseInt(pinkyStr.split(",")[0]);
-        int pinkyY = Integer.parseInt(pinkyStr.split(",")[1]);
-        Direction pinkyD = Direction.valueOf(pinkyStr.split(",")[2]);
-        Phase pinkyP = Phase.valueOf(pinkyStr.split(",")[3]
-                .split(":")[0]);
-        int pinkyS = Integer.parseInt(pinkyStr.split(",")[3]
-                .split(":")[1]);
+        /**
+         * Reads the next line of the save.
+         *
+         * @param line - without leading and trailing whitespace.
+         * @throws UnpackableException - when the line is invalid here.
+         */
+        void line(String line) throws UnpackableException {
+            if (line.isEmpty()) {
+                if (block == NO_BLOCK) {
+                    throw new UnpackableException();
+                }
+                blanks++;
+            } else if (line.charAt(0) == ';') {
+                return;
+            } else if (line.charAt(0) == '[') {
+                header(line);
+            } else if (block == BOARD) {
+                boardLine(line);
+            } else if (block == GAME) {
+                gameLine(line);
+            } else if (block == SCORES) {
+                scoreLine(line);
+            } else {
+                throw new UnpackableException();
+            }
+        }
 
-        int clydeX = Integer.parseInt(clydeStr.split(",")[0]);
-        int clydeY = Integer.parseInt(clydeStr.split(",")[1]);
-        Direction clydeD = Direction.valueOf(clydeStr.split(",")[2]);
-        Phase clydeP = Phase.valueOf(clydeStr.split(",")[3]
-                .split(":")[0]);
-        int clydeS = Integer.parseInt(clydeStr.split(",")[3]
-                .split(":")[1]);
+        /**
+         * Gets the game once every line has been read.
+         *
+         * @return the game that was read.
+         * @throws UnpackableException - if the save ended early.
+         */
+        PacmanGame finish() throws UnpackableException {
+            if (block != SCORES) {
+                throw new UnpackableException();
+            }
+            return game;
+        }
 
-        for (Ghost g : game.getGhosts()) {
-            if (g.getType() == GhostType.BLINKY) {
-                g.setPosition(new Position(blinkX, blinkY));
-                g.setDirection(blinkyD);
-                g.setPhase(blinkyP, blinkyS);
-            } else if (g.getType() == GhostType.INKY) {
-                g.setPosition(new Position(inkyX, inkyY));
-                g.setDirection(inkyD);
-                g.setPhase(inkyP, inkyS);
-            } else if (g.getType() == GhostType.PINKY) {
-                g.setPosition(new Position(pinkyX, pinkyY));
-                g.setDirection(pinkyD);
-                g.setPhase(pinkyP, pinkyS);
-            } else if (g.getType() == GhostType.CLYDE) {
-                g.setPosition(new Position(clydeX, clydeY));
-                g.setDirection(clydeD);
-                g.setPhase(clydeP, clydeS);
+        /*
+         * Starts the next block, checking the previous one is complete.
+         */
+        private void header(String line) throws UnpackableException {
+            if ("[Board]".equals(line) && block == NO_BLOCK) {
+                block = BOARD;
+            } else if ("[Game]".equals(line) && block == BOARD
+                    && board != null && row == board.getHeight()
+                    && blanks == 1) {
+                block = GAME;
+            } else if ("[Scores]".equals(line) && block == GAME
+                    && blanks == 1) {
+                game = newGame();
+                block = SCORES;
             } else {
                 throw new UnpackableException();
             }
+            blanks = 0;
         }
-    }
 
-    /**
-     * check values(non-negative, or width and height greater than 0).
-     *
-     * @param fileInfo File to a list
-     * @throws UnpackableException - when the saved data is invalid.
-     */
-    private static void check1(List<String> fileInfo)
-            throws UnpackableException {
-        int width = 1;
-        int height = 1;
-        for (int i = 0; i < fileInfo.size(); i++) {
-            if ("[Board]".equals(fileInfo.get(i))) {
-                width = Integer.parseInt(fileInfo.get(i + 1)
-                        .split(",")[0]);
-                height = Integer.parseInt(fileInfo.get(i + 1)
-                        .split(",")[1]);
+        /*
+         * Reads the dimensions of the board or its next row.
+         */
+        private void boardLine(String line) throws UnpackableException {
+            if (board == null) {
+                int comma = line.indexOf(',');
+                int width = Integer.parseInt(line.substring(0, comma).trim());
+                int height = Integer.parseInt(line.substring(comma + 1).trim());
                 if (width <= 0 || height <= 0) {
                     throw new UnpackableException();
                 }
-            } else  if ("[Game]".equals(fileInfo.get(i))) {
-                int lives = Integer.parseInt(fileInfo.get(i + 3)
-                        .split(" = ")[1]);
-                int level = Integer.parseInt(fileInfo.get(i + 4)
-                        .split(" = ")[1]);
-                if (lives < 0 || level < 0) {
-                    throw new UnpackableException();
-                }
-                try {
-                    check2(fileInfo, i, width, height);
-                } catch (Exception ea) {
-                    throw new UnpackableException();
-                }
-            } else if ("[Scores]".equals(fileInfo.get(i))) {
-                List<String> scoresL = fileInfo.subList(i + 1, fileInfo.size());
-                if (scoresL.size() > 0) {
-                    for (String s : scoresL) {
-                        if (s.equals("")) {
-                            throw new UnpackableException();
-                        }
-                        try {
-                            Integer.parseInt(s.split(" : ")[1]);
-                        } catch (Exception ee) {
-                            throw new UnpackableException();
-                        }
-                    }
-                }
+                board = new PacmanBoard(width, height);
+                items = new BoardItem[width];
+                return;
+            }
+            if (line.length() != items.length) {
+                throw new UnpackableException();
+            }
+            for (int x = 0; x < items.length; x++) {
+                items[x] = item(line.charAt(x));
             }
+            row(items);
         }
-    }
 
-    /**
-     * check all entities positions not out of board.
-     *
-     * @param fileInfo file to a list
-     * @param i index in check1
-     * @param width width of board
-     * @param height heght of board
-     * @throws UnpackableException - when the saved data is invalid.
-     */
-    private static void check2(List<String> fileInfo, int i, int width,
-                               int height) throws UnpackableException {
-        int hunterX;
-        int hunterY;
-        int ghostBX;
-        int ghostBY;
-        int ghostIX;
-        int ghostIY;
-        int ghostPX;
-        int ghostPY;
-        int ghostCX;
-        int ghostCY;
-        hunterX = Integer.parseInt(fileInfo.get(i + 6).split(" = ")[1]
-                .split(",")[0]);
-        hunterY = Integer.parseInt(fileInfo.get(i + 6).split(" = ")[1]
-                .split(",")[1]);
-        ghostBX = Integer.parseInt(fileInfo.get(i + 7).split(" = ")[1]
-                .split(",")[0]);
-        ghostBY = Integer.parseInt(fileInfo.get(i + 7).split(" = ")[1]
-                .split(",")[1]);
-        ghostIX = Integer.parseInt(fileInfo.get(i + 8).split(" = ")[1]
-                .split(",")[0]);
-        ghostIY = Integer.parseInt(fileInfo.get(i + 8).split(" = ")[1]
-                .split(",")[1]);
-        ghostPX = Integer.parseInt(fileInfo.get(i + 9).split(" = ")[1]
-                .split(",")[0]);
-        ghostPY = Integer.parseInt(fileInfo.get(i + 9).split(" = ")[1]
-                .split(",")[1]);
-        ghostCX = Integer.parseInt(fileInfo.get(i + 10).split(" = ")[1]
-                .split(",")[0]);
-        ghostCY = Integer.parseInt(fileInfo.get(i + 10).split(" = ")[1]
-                .split(",")[1]);
-        if (hunterX < 0 || ghostBX < 0 || ghostCX < 0 || ghostIX < 0
-                || ghostPX < 0 || hunterY < 0 || ghostBY < 0 || ghostCY < 0
-                || ghostIY < 0 || ghostPY < 0 || hunterX >= width
-                || ghostBX >= width || ghostCX >= width || ghostIX >= width
-                || ghostPX >= width || hunterY >= height || ghostBY >= height
-                || ghostCY >= height || ghostIY >= height
-                || ghostPY >= height) {
-            throw new UnpackableException();
+        /**
+         * Checks whether the next line of the [Board] block that is not
+         * blank or a comment must be a row of the board.
+         *
+         * @return true if the dimensions have been read and the block is
+         * still being read.
+         */
+        boolean expectsRow() {
+            return block == BOARD && board != null;
         }
-    }
 
-    /**
-     * check blank lines.
-     *
-     * @param fileInfo file to list
-     * @throws UnpackableException - when the saved data is invalid.
-     */
-    private static void check0(List<String> fileInfo)
-            throws UnpackableException {
-        int start = 0;
-        int middle = 0;
-        for (int i = 0; i < fileInfo.size(); i++) {
-            if ("[Board]".equals(fileInfo.get(i))) {
-                if (fileInfo.get(i - 1).equals("")) {
-                    throw new UnpackableException();
-                }
-                start = i;
-            } else  if ("[Game]".equals(fileInfo.get(i))) {
-                List<String> midList = fileInfo.subList(start, i);
-                if (Collections.frequency(midList, "") != 1) {
-                    throw new UnpackableException();
-                }
-                middle = i;
-            } else if ("[Scores]".equals(fileInfo.get(i))) {
-                List<String> endList = fileInfo.subList(middle, i);
-                if (Collections.frequency(endList, "") != 1) {
+        /**
+         * Gets a buffer for decoding one row of the board into.
+         *
+         * @return an array as long as the board is wide, shared between
+         * calls.
+         * @require expectsRow()
+         */
+        BoardItem[] rowBuffer() {
+            return items;
+        }
+
+        /**
+         * Fills the next row of the board.
+         *
+         * @param items - decoded row, as long as the board is wide.
+         * @throws UnpackableException - if every row has been filled.
+         * @require expectsRow()
+         */
+        void row(BoardItem[] items) throws UnpackableException {
+            if (row >= board.getHeight()) {
+                throw new UnpackableException();
+            }
+            board.setRow(row++, items);
+        }
+
+        /*
+         * Reads and validates the next assignment of the [Game] block.
+         */
+        private void gameLine(String line) throws UnpackableException {
+            int equals = line.indexOf('=');
+            if (equals < 0) {
+                throw new UnpackableException();
+            }
+            String key = line.substring(0, equals).trim();
+            String value = line.substring(equals + 1).trim();
+            int index = 0;
+            while (index < KEYS.length && !KEYS[index].equals(key)) {
+                index++;
+            }
+            if (index == KEYS.length || values[index] != null) {
+                throw new UnpackableException();
+            }
+            values[index] = value;
+            switch (key) {
+                case "lives":
+                    lives = nonNegative(value);
+                    break;
+                case "level":
+                    level = nonNegative(value);
+                    break;
+                case "score":
+                    score = nonNegative(value);
+                    break;
+                case "hunter":
+                    hunter = hunter(value);
+                    break;
+                case "title":
+                case "author":
+                    break;
+                default:
+                    ghost(GhostType.valueOf(key.toUpperCase()), value);
+            }
+        }
+
+        /*
+         * Reads the next entry of the [Scores] block.
+         */
+        private void scoreLine(String line) throws UnpackableException {
+            int colon = line.indexOf(" : ");
+            if (colon < 0) {
+                throw new UnpackableException();
+            }
+            game.getScores().setScore(line.substring(0, colon),
+                    Integer.parseInt(line.substring(colon + 3).trim()));
+        }
+
+        /*
+         * Parses a hunter assignment: x,y,DIRECTION,duration,HunterType.
+         */
+        private Hunter hunter(String value) throws UnpackableException {
+            String[] fields = value.split(",");
+            if (fields.length != 5) {
+                throw new UnpackableException();
+            }
+            Hunter hunter = HunterType.valueOf(fields[4].trim()).newHunter();
+            hunter.setPosition(position(fields[0], fields[1]));
+            hunter.setDirection(Direction.valueOf(fields[2].trim()));
+            hunter.activateSpecial(Integer.parseInt(fields[3].trim()));
+            return hunter;
+        }
+
+        /*
+         * Parses a ghost assignment: x,y,DIRECTION,PHASE:duration.
+         */
+        private void ghost(GhostType type, String value)
+                throws UnpackableException {
+            String[] fields = value.split(",");
+            if (fields.length != 4) {
+                throw new UnpackableException();
+            }
+            String phase = fields[3].trim();
+            int colon = phase.indexOf(':');
+            if (colon < 0) {
+                throw new UnpackableException();
+            }
+            int i = type.ordinal();
+            positions[i] = position(fields[0], fields[1]);
+            directions[i] = Direction.valueOf(fields[2].trim());
+            phases[i] = Phase.valueOf(phase.substring(0, colon).trim());
+            durations[i] = nonNegative(phase.substring(colon + 1));
+        }
+
+        /*
+         * Parses a position that must be on the board.
+         */
+        private Position position(String x, String y)
+                throws UnpackableException {
+            int px = Integer.parseInt(x.trim());
+            int py = Integer.parseInt(y.trim());
+            if (px < 0 || py < 0 || px >= board.getWidth()
+                    || py >= board.getHeight()) {
+                throw new UnpackableException();
+            }
+            return Position.of(px, py);
+        }
+
+        /*
+         * Parses an integer that must be greater than or equal to zero.
+         */
+        private static int nonNegative(String value)
+                throws UnpackableException {
+            int result = Integer.parseInt(value.trim());
+            if (result < 0) {
+                throw new UnpackableException();
+            }
+            return result;
+        }
+
+        /*
+         * Creates the game once every [Game] assignment has been read.
+         */
+        private PacmanGame newGame() throws UnpackableException {
+            for (String value : values) {
+                if (value == null) {
                     throw new UnpackableException();
                 }
             }
+            PacmanGame game = new PacmanGame(values[0], values[1], hunter,
+                    board);
+            game.setLives(lives);
+            game.setLevel(level);
+            game.getScores().increaseScore(score);
+            for (Ghost g : game.getGhosts()) {
+                int i = g.getType().ordinal();
+                g.setPosition(positions[i]);
+                g.setDirection(directions[i]);
+                g.setPhase(phases[i], durations[i]);
+            }
+            return game;
         }
     }
 }
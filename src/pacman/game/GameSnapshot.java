@@ -0,0 +1,171 @@
+package pacman.game;
+
+import pacman.board.PacmanBoard;
+import pacman.ghost.Ghost;
+import pacman.ghost.GhostSwarm;
+import pacman.ghost.Phase;
+import pacman.hunter.Hunter;
+import pacman.util.Direction;
+import pacman.util.Position;
+
+import java.util.List;
+
+/**
+ * An immutable capture of the state of a PacmanGame that the game can be
+ * restored to. See {@link PacmanGame#snapshot()}.
+ *
+ * The board is captured as a copy that shares its rows with the game's
+ * board until either changes them, so taking a snapshot costs time in
+ * proportion to the board's height rather than its area.
+ */
+public class GameSnapshot {
+
+    // copy of the board, never changed
+    private final PacmanBoard board;
+    // copy of the hunter, never changed
+    private final Hunter hunter;
+    // ghost positions in the order of PacmanGame.getGhosts()
+    private final Position[] positions;
+    // ghost directions
+    private final Direction[] directions;
+    // ghost phases
+    private final Phase[] phases;
+    // ghost phase durations
+    private final int[] phaseDurations;
+    // whether each ghost is dead
+    private final boolean[] dead;
+    // copy of the ghost swarm, never changed, or null if there was none
+    private final GhostSwarm swarm;
+    // current score
+    private final int score;
+    // tick of the game
+    private final int tick;
+    // level of the game
+    private final int level;
+    // lives of the player
+    private final int lives;
+    // state hash of the game when captured
+    private final long stateHash;
+
+    /**
+     * Captures the current state of a game.
+     *
+     * @param game - to capture.
+     */
+    GameSnapshot(PacmanGame game) {
+        this.board = new PacmanBoard(game.getBoard());
+        this.hunter = game.getHunter().getType().newHunter(game.getHunter());
+        List<Ghost> ghosts = game.getGhosts();
+        this.positions = new Position[ghosts.size()];
+        this.directions = new Direction[ghosts.size()];
+        this.phases = new Phase[ghosts.size()];
+        this.phaseDurations = new int[ghosts.size()];
+        this.dead = new boolean[ghosts.size()];
+        for (int i = 0; i < ghosts.size(); i++) {
+            Ghost ghost = ghosts.get(i);
+            positions[i] = ghost.getPosition();
+            directions[i] = ghost.getDirection();
+            phases[i] = ghost.getPhase();
+            phaseDurations[i] = ghost.getPhaseDuration();
+            dead[i] = ghost.isDead();
+        }
+        this.swarm = game.getGhostSwarm() == null ? null
+                : new GhostSwarm(game.getGhostSwarm());
+        this.score = game.getScores().getScore();
+        this.tick = game.getTick();
+        this.level = game.getLevel();
+        this.lives = game.getLives();
+        this.stateHash = game.stateHash();
+    }
+
+    /**
+     * Gets a copy of the captured board.
+     *
+     * @return a new board equal to the captured board.
+     */
+    PacmanBoard copyBoard() {
+        return new PacmanBoard(board);
+    }
+
+    /**
+     * Gets a copy of the captured hunter.
+     *
+     * @return a new hunter equal to the captured hunter.
+     */
+    Hunter copyHunter() {
+        return hunter.getType().newHunter(hunter);
+    }
+
+    /**
+     * Restores the captured state of each ghost onto the given ghosts.
+     *
+     * @param ghosts - in the order of PacmanGame.getGhosts().
+     */
+    void restoreGhosts(List<Ghost> ghosts) {
+        for (int i = 0; i < ghosts.size(); i++) {
+            Ghost ghost = ghosts.get(i);
+            ghost.reset();
+            if (dead[i]) {
+                ghost.kill();
+            }
+            ghost.setPosition(positions[i]);
+            ghost.setDirection(directions[i]);
+            ghost.setPhase(phases[i], phaseDurations[i]);
+        }
+    }
+
+    /**
+     * Gets a copy of the captured ghost swarm.
+     *
+     * @return a new swarm equal to the captured swarm, or null if the
+     * game had no swarm.
+     */
+    GhostSwarm copySwarm() {
+        return swarm == null ? null : new GhostSwarm(swarm);
+    }
+
+    /**
+     * Gets the captured score.
+     *
+     * @return the game's current score when captured.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the captured tick.
+     *
+     * @return the game's tick when captured.
+     */
+    public int getTick() {
+        return tick;
+    }
+
+    /**
+     * Gets the captured level.
+     *
+     * @return the game's level when captured.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the captured lives.
+     *
+     * @return the game's lives when captured.
+     */
+    public int getLives() {
+        return lives;
+    }
+
+    /**
+     * Gets the state hash of the game when it was captured.
+     *
+     * @return {@link PacmanGame#stateHash()} at the time of capture.
+     */
+    public long getStateHash() {
+        return stateHash;
+    }
+}
@@ -5,6 +5,7 @@ import pacman.ghost.Ghost;
 import pacman.ghost.GhostType;
 
 import java.io.*;
+import java.util.Map;
 
 
 /**
@@ -37,6 +38,9 @@ public class GameWriter {
      * multiline list of the scores where the name and value of the score
      * are sperated by a ":". The scores should be output sorted by Name
      * ScoreBoard.getEntriesByName(). The last score should not have a newline.
+     * The entries are read from the ScoreBoard.getEntries() view, which is
+     * already in name order, and written straight to the writer, so no
+     * scores are sorted or copied while writing.
      *
      * @param writer - to output the data to.
      * @param game - to encode into the save data format.
@@ -63,16 +67,16 @@ public class GameWriter {
         // write ghosts
         writeGhost(out, game, sepa);
         out.newLine();
-        // scores information
-        int scoresSize = game.getScores().getEntriesByName().size();
+        // scores information, streamed from one view ordered by name
         out.write("[Scores]" + sepa);
-        if (scoresSize >= 1) {
-            for (int i = 0; i < scoresSize - 1; i++) {
-                out.write(game.getScores().getEntriesByName()
-                        .get(i) + sepa);
-            }
-            out.write(game.getScores().getEntriesByName()
-                    .get(scoresSize - 1));
+        String before = "";
+        for (Map.Entry<String, Integer> entry
+                : game.getScores().getEntries().entrySet()) {
+            out.write(before);
+            out.write(entry.getKey());
+            out.write(" : ");
+            out.write(Integer.toString(entry.getValue()));
+            before = sepa;
         }
         out.flush();
         out.close();
@@ -0,0 +1,195 @@
+package pacman.game;
+
+import pacman.board.BoardItem;
+import pacman.util.UnpackableException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Reads in a game saved by the {@link GameWriter} from a file by memory
+ * mapping it, for saves with very large boards.
+ *
+ * The file is mapped read-only a window at a time, so saves of any size
+ * can be read. Board rows are decoded straight from the mapped bytes
+ * into a reused row buffer and copied into the board with
+ * {@link pacman.board.PacmanBoard#setRow(int, pacman.board.BoardItem[])},
+ * so reading the board allocates nothing per block or per row. The
+ * other lines are decoded as UTF-8 and parsed exactly like
+ * {@link GameReader#read(java.io.Reader)} does.
+ */
+public class MappedGameReader {
+
+    // default number of bytes of the file mapped at a time
+    static final int WINDOW = 1 << 26;
+
+    /**
+     * Reads in a game according to the specification of
+     * {@link GameReader#read(java.io.Reader)}.
+     *
+     * @param file - to read the save game from.
+     * @return a PacmanGame that reflects the state from the file.
+     * @throws UnpackableException - when the saved data is invalid.
+     * @throws IOException - when unable to read from the file.
+     */
+    public static PacmanGame read(Path file)
+            throws UnpackableException, IOException {
+        return read(file, WINDOW);
+    }
+
+    /**
+     * Reads in a game, mapping at most the given number of bytes of the
+     * file at a time.
+     *
+     * @param file - to read the save game from.
+     * @param window - bytes to map at a time, greater than 0.
+     * @return a PacmanGame that reflects the state from the file.
+     * @throws UnpackableException - when the saved data is invalid.
+     * @throws IOException - when unable to read from the file.
+     */
+    static PacmanGame read(Path file, int window)
+            throws UnpackableException, IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.READ)) {
+            Cursor in = new Cursor(channel, window);
+            GameReader.Parser parser = new GameReader.Parser();
+            byte[] line = new byte[256];
+            int b;
+            while ((b = in.skipBlanks()) != -1) {
+                if (b == '\n') {
+                    parser.line("");
+                } else if (b == ';') {
+                    in.skipLine();
+                } else if (b != '[' && parser.expectsRow()) {
+                    readRow(in, b, parser);
+                } else {
+                    int length = 0;
+                    while (b != -1 && b != '\n') {
+                        if (length == line.length) {
+                            line = Arrays.copyOf(line, length * 2);
+                        }
+                        line[length++] = (byte) b;
+                        b = in.next();
+                    }
+                    parser.line(new String(line, 0, length,
+                            StandardCharsets.UTF_8).trim());
+                }
+            }
+            return parser.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            // malformed numbers, enum names and missing fields
+            throw new UnpackableException();
+        }
+    }
+
+    /*
+     * Decodes a row of the board, starting at its first byte, into the
+     * parser's row buffer. Trailing whitespace is allowed.
+     */
+    private static void readRow(Cursor in, int b, GameReader.Parser parser)
+            throws UnpackableException {
+        BoardItem[] items = parser.rowBuffer();
+        int x = 0;
+        while (b > ' ') {
+            if (x == items.length) {
+                throw new UnpackableException();
+            }
+            items[x++] = GameReader.item(b);
+            b = in.next();
+        }
+        while (b != -1 && b != '\n') {
+            if (b > ' ') {
+                throw new UnpackableException();
+            }
+            b = in.next();
+        }
+        if (x != items.length) {
+            throw new UnpackableException();
+        }
+        parser.row(items);
+    }
+
+    /**
+     * Reads the bytes of a file through a window that is mapped in turn
+     * over each part of the file.
+     */
+    private static final class Cursor {
+
+        // file being read
+        private final FileChannel channel;
+        // size of the file
+        private final long size;
+        // bytes to map at a time
+        private final int window;
+        // offset in the file of the mapped window
+        private long base;
+        // the mapped window
+        private MappedByteBuffer buffer;
+
+        /*
+         * Creates a cursor at the start of the file.
+         */
+        private Cursor(FileChannel channel, int window) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+            this.window = window;
+            this.buffer = map(0);
+        }
+
+        /*
+         * Gets the next byte, 0 to 255, or -1 at the end of the file.
+         */
+        int next() {
+            if (!buffer.hasRemaining()) {
+                base += buffer.capacity();
+                if (base >= size) {
+                    return -1;
+                }
+                buffer = map(base);
+            }
+            return buffer.get() & 0xFF;
+        }
+
+        /*
+         * Gets the next byte that is not whitespace, other than a new
+         * line, or -1 at the end of the file.
+         */
+        int skipBlanks() {
+            int b = next();
+            while (b != -1 && b != '\n' && b <= ' ') {
+                b = next();
+            }
+            return b;
+        }
+
+        /*
+         * Skips the rest of the current line.
+         */
+        void skipLine() {
+            int b = next();
+            while (b != -1 && b != '\n') {
+                b = next();
+            }
+        }
+
+        /*
+         * Maps the window starting at the given offset of the file.
+         */
+        private MappedByteBuffer map(long offset) {
+            try {
+                return channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                        Math.min(window, size - offset));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package pacman.game;
 
+import pacman.board.BoardItem;
+import pacman.board.CorridorGraph;
+import pacman.board.DistanceFieldCache;
 import pacman.board.PacmanBoard;
 import pacman.ghost.*;
 import pacman.hunter.Hunter;
 import pacman.score.ScoreBoard;
+import pacman.util.Position;
+import pacman.util.Zobrist;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Predicate;
 
 /**
  * PacmanGame stores the game's state and acts as the model for the entire game.
@@ -37,6 +43,16 @@ public class PacmanGame {
     private Ghost ghostI = new Inky();
     // Pinky ghost
     private Ghost ghostP = new Pinky();
+    // every ghost, in the order of getGhosts()
+    private final Ghost[] ghosts = {ghostB, ghostC, ghostI, ghostP};
+    // told about the steps and events of each tick, null when not timed
+    private TickListener listener;
+    // shortest path distances the ghosts navigate by, null for euclidean
+    private DistanceFieldCache navigation;
+    // extra ghosts played alongside the four, null if there are none
+    private GhostSwarm swarm;
+    // junctions and corridors of the board, built when first needed
+    private CorridorGraph corridors;
 
     /**
      * Creates a new game with the given parameters and spawns one of each
@@ -114,6 +130,16 @@ public class PacmanGame {
         return this.tick;
     }
 
+    /**
+     * Sets the tick of the game, for example when resuming a saved game.
+     *
+     * @param tick - to be set to.
+     * @ensure newTick = max(0, givenTick)
+     */
+    public void setTick(int tick) {
+        this.tick = Integer.max(0, tick);
+    }
+
     /**
      * Gets the current score board.
      *
@@ -202,63 +228,524 @@ public class PacmanGame {
      * 7. If the board is empty, then increase the level and set the ticks to 0
      * and reset the board and entities placing them at their spawn points.
      * 8. Increase the tick value.
+     *
+     * While a TickListener is set each step is timed and the listener is
+     * told about the pickups eaten, ghosts killed, hunter deaths and level
+     * clears. See setTickListener(TickListener).
      */
     public void tick() {
         if (lives != 0) {
-            // step 1
-            hunter.move(this);
-            // step 2
-            for (Ghost g : getGhosts()) {
-                hunter.hit(g);
+            TickListener listener = this.listener;
+            if (listener != null) {
+                timedTick(listener);
+            } else {
+                advance();
             }
-            // step 3
-            // tick is even and ghost is alive
-            if (this.getTick() % 2 == 0) {
-                for (Ghost g : getGhosts()) {
-                    if (!g.isDead()) {
-                        g.move(this);
-                    }
-                }
+        }
+    }
+
+    /**
+     * Ticks the game up to n times, stopping early after the tick in
+     * which the hunter loses a life, the board is cleared or the stop
+     * condition holds, or before ticking if there are no lives left.
+     * Each tick is the same as calling tick(). A tick that loses the last
+     * life stops with GAME_OVER, and otherwise a tick that clears the
+     * board stops with LEVEL_CLEARED even if a life was also lost.
+     *
+     * @param n             - most ticks to run.
+     * @param stopCondition - tested after each tick, ticking stops once it
+     *                      holds, or null to only stop on game events.
+     * @return a summary of the ticks run and why they stopped.
+     */
+    public TickSummary tickN(int n, Predicate<PacmanGame> stopCondition) {
+        TickListener listener = this.listener;
+        int startScore = scoreBoard.getScore();
+        int ticks = 0;
+        int pickupsEaten = 0;
+        int ghostsKilled = 0;
+        StopReason reason = StopReason.COMPLETED;
+        while (ticks < n) {
+            if (lives == 0) {
+                reason = StopReason.GAME_OVER;
+                break;
             }
-            // step 4
-            for (Ghost g : getGhosts()) {
-                hunter.hit(g);
+            int startLives = lives;
+            int startLevel = level;
+            int pickups = board.remainingPickups();
+            ghostsKilled += listener != null ? timedTick(listener)
+                    : advance();
+            ticks++;
+            // the board is reset after its last pickup is eaten
+            pickupsEaten += level != startLevel ? pickups
+                    : pickups - board.remainingPickups();
+            // losing the last life ends the game even if the same tick
+            // also cleared the board
+            if (lives == 0) {
+                reason = StopReason.GAME_OVER;
+                break;
             }
-            // death situations
-            // step 5 ghost is dead
-            for (Ghost g : getGhosts()) {
-                if (g.isDead()) {
-                    g.reset();
-                    g.setPosition(board.getGhostSpawn());
-                    scoreBoard.increaseScore(200);
-                }
+            if (level != startLevel) {
+                reason = StopReason.LEVEL_CLEARED;
+                break;
+            }
+            if (lives != startLives) {
+                reason = StopReason.LIFE_LOST;
+                break;
             }
-            // step 6 hunter death
-            if (hunter.isDead()) {
-                lives -= 1;
-                hunter.reset();
-                hunter.setPosition(board.getPacmanSpawn());
-                for (Ghost g : getGhosts()) {
-                    g.reset();
-                    g.setPosition(board.getGhostSpawn());
+            if (stopCondition != null && stopCondition.test(this)) {
+                reason = StopReason.CONDITION;
+                break;
+            }
+        }
+        return new TickSummary(ticks, reason,
+                scoreBoard.getScore() - startScore, pickupsEaten,
+                ghostsKilled);
+    }
+
+    /*
+     * Runs the steps of tick and returns the number of ghosts killed.
+     */
+    private int advance() {
+        // step 1
+        hunter.move(this);
+        // step 2
+        hitGhosts();
+        // step 3
+        moveGhosts();
+        // step 4
+        hitGhosts();
+        // death situations
+        // step 5 ghost is dead
+        int killed = respawnGhosts();
+        // step 6 hunter death
+        respawnHunter();
+        // step 7 empty case
+        if (!clearLevel()) {
+            // step 8
+            tick += 1;
+        }
+        return killed;
+    }
+
+    /**
+     * Ticks the game until the player next has a choice to make, at most
+     * the given number of times. Ticking stops after the tick in which:
+     *
+     * the hunter reaches a junction, see CorridorGraph.isJunction.
+     * the hunter could not move.
+     * the hunter lost a life.
+     * the board was cleared.
+     * the game ran out of lives.
+     *
+     * While the hunter walks along a corridor it cannot turn anywhere but
+     * back, so a player only needs to be asked for a direction at the
+     * ticks this stops at. The game ends in the same state as calling
+     * tick() the same number of times.
+     *
+     * While the hunter walks along a corridor without its special, the
+     * ticks in which nothing can happen but the hunter and the ghosts
+     * walking straight on are skipped in one go rather than ticked one
+     * at a time. Only the ticks in which a ghost chooses its way at a
+     * junction are run as usual, and skipping stops before a ghost meets
+     * the hunter or the last pickup is eaten. The other ticks are run
+     * with tick(). Games with a TickListener or a GhostSwarm set are
+     * always ticked one at a time.
+     *
+     * @param maxTicks - most ticks to run.
+     * @return the number of ticks run.
+     */
+    public int fastForward(int maxTicks) {
+        CorridorGraph graph = getCorridorGraph();
+        int ticks = 0;
+        while (ticks < maxTicks && lives != 0) {
+            Position from = hunter.getPosition();
+            int startLives = lives;
+            int startLevel = level;
+            int skipped = jump(graph, maxTicks - ticks);
+            if (skipped > 0) {
+                ticks += skipped;
+            } else {
+                tick();
+                ticks++;
+            }
+            Position to = hunter.getPosition();
+            if (lives != startLives || level != startLevel
+                    || from.equals(to)
+                    || graph.isJunction(to.getX(), to.getY())) {
+                break;
+            }
+        }
+        return ticks;
+    }
+
+    /*
+     * Skips up to the given number of ticks at once while the hunter
+     * walks along its corridor, returning the ticks skipped, or 0 if the
+     * next tick has to be run with tick(). The game ends in the same
+     * state as ticking the same number of times.
+     *
+     * The ticks between events are skipped in one go, where an event is
+     * a ghost choosing its way at a junction, the hunter meeting a ghost
+     * or the stretch ending. A tick in which a ghost chooses its way is
+     * run as usual and the stretch carries on after it, so each event
+     * costs the same however many ticks lie between events.
+     */
+    private int jump(CorridorGraph graph, int limit) {
+        if (listener != null || swarm != null || hunter.isDead()
+                || hunter.getSpecialDurationRemaining() != 0) {
+            return 0;
+        }
+        for (Ghost g : ghosts) {
+            if (g.isDead()) {
+                return 0;
+            }
+        }
+        int x = hunter.getPosition().getX();
+        int y = hunter.getPosition().getY();
+        int dx = hunter.getDirection().offset().getX();
+        int dy = hunter.getDirection().offset().getY();
+        // the hunter walks one block a tick until it reaches a junction
+        int length = Math.min(limit,
+                graph.stepsToJunction(x, y, hunter.getDirection()));
+        // stop before the tick that eats the last pickup clears the board,
+        // which can only happen if there are no more pickups than blocks
+        int remaining = board.remainingPickups();
+        if (remaining <= length) {
+            for (int i = 1; i <= length; i++) {
+                BoardItem item = board.getEntry(x + dx * i, y + dy * i);
+                if ((item == BoardItem.DOT || item == BoardItem.BIG_DOT)
+                        && --remaining == 0) {
+                    length = i - 1;
                 }
             }
-            // step 7 empty case
-            if (board.isEmpty()) {
-                level += 1;
-                tick = 0;
-                board.reset();
-                hunter.reset();
-                hunter.setPosition(board.getPacmanSpawn());
-                for (Ghost g : getGhosts()) {
-                    g.reset();
-                    g.setPosition(board.getGhostSpawn());
+        }
+        int startLives = lives;
+        int startLevel = level;
+        int done = 0;
+        while (done < length) {
+            // ghosts walk straight on, moving on even ticks, until they
+            // reach a junction and have to choose their way
+            int odd = tick & 1;
+            int stretch = length - done;
+            for (Ghost g : ghosts) {
+                int moves = graph.stepsToJunction(g.getPosition().getX(),
+                        g.getPosition().getY(), g.getDirection());
+                stretch = Math.min(stretch, 2 * moves + odd);
+            }
+            // stop before the first tick in which a ghost meets the hunter
+            int meet = stretch;
+            for (Ghost g : ghosts) {
+                meet = meeting(g, x, y, dx, dy, meet, odd);
+            }
+            for (int i = 1; i <= meet; i++) {
+                Position position = Position.of(x + dx * i, y + dy * i);
+                scoreBoard.increaseScore(
+                        board.getEntry(position).getScore());
+                board.eatDot(position);
+            }
+            x += dx * meet;
+            y += dy * meet;
+            hunter.setPosition(Position.of(x, y));
+            int moves = (meet + 1 - odd) / 2;
+            for (Ghost g : ghosts) {
+                g.moveAlong(moves);
+            }
+            tick += meet;
+            done += meet;
+            if (meet < stretch || done == length) {
+                break;
+            }
+            // a ghost chooses its way in this tick
+            advance();
+            done++;
+            if (lives != startLives || level != startLevel) {
+                break;
+            }
+            x = hunter.getPosition().getX();
+            y = hunter.getPosition().getY();
+        }
+        return done;
+    }
+
+    /*
+     * Gets the number of ticks, at most length, before the tick in which
+     * a ghost walking straight on would meet the hunter, who starts at
+     * x, y and walks dx, dy a tick. The hunter meets the ghost in tick i
+     * if it is then where the ghost is after m moves, for an m with
+     * 2 * m + odd within one of i: the moves made before or during the
+     * tick.
+     */
+    private static int meeting(Ghost ghost, int x, int y, int dx, int dy,
+                               int length, int odd) {
+        int gx = ghost.getPosition().getX();
+        int gy = ghost.getPosition().getY();
+        int gdx = ghost.getDirection().offset().getX();
+        int gdy = ghost.getDirection().offset().getY();
+        // how far the ghost is ahead of the hunter and to its side
+        int ahead = (gx - x) * dx + (gy - y) * dy;
+        int aside = (gx - x) * dy + (gy - y) * dx;
+        // 1 if the ghost walks the hunter's way, -1 if towards it
+        int way = gdx * dx + gdy * dy;
+        // the first tick they meet in, or 0 if they do not
+        int first = 0;
+        if (way == 0) {
+            // the ghost crosses the hunter's way after m moves
+            int m = (x - gx) * gdx + (y - gy) * gdy;
+            if (m >= 0 && ahead >= 1
+                    && Math.abs(ahead - 2 * m - odd) <= 1) {
+                first = ahead;
+            }
+        } else if (aside == 0 && way > 0) {
+            // the hunter catches up in tick ahead + m
+            int m = Math.max(0, Math.max(ahead - odd - 1, 1 - ahead));
+            if (m <= ahead - odd + 1) {
+                first = ahead + m;
+            }
+        } else if (aside == 0) {
+            // they walk into each other in tick ahead - m, for the one m
+            // with 3 * m within one of ahead - odd
+            int m = Math.floorDiv(ahead - odd + 1, 3);
+            if (m >= 0 && m < ahead) {
+                first = ahead - m;
+            }
+        }
+        return first >= 1 && first <= length ? first - 1 : length;
+    }
+
+    /**
+     * Sets a swarm of extra ghosts that play alongside the four ghosts of
+     * getGhosts(), or removes it. Swarm ghosts move, hit the hunter, die,
+     * score and respawn by the same rules as the other ghosts in every
+     * step of tick(), and are placed at the ghost spawn now.
+     *
+     * Swarms are captured by snapshot() but not saved by the game
+     * writers, so games with a swarm cannot be recorded for replays.
+     *
+     * @param swarm - of extra ghosts, or null for none.
+     */
+    public void setGhostSwarm(GhostSwarm swarm) {
+        this.swarm = swarm;
+        if (swarm != null) {
+            swarm.reset(board.getGhostSpawn());
+        }
+    }
+
+    /**
+     * Gets the swarm of extra ghosts playing alongside the four ghosts.
+     *
+     * @return the ghost swarm, or null if there is none.
+     */
+    public GhostSwarm getGhostSwarm() {
+        return swarm;
+    }
+
+    /**
+     * Gets the junctions and corridors of the game board, building them
+     * again if a wall of the board has changed since they were last
+     * built.
+     *
+     * @return the corridor graph of the board.
+     */
+    public CorridorGraph getCorridorGraph() {
+        if (corridors == null
+                || corridors.getLayoutVersion() != board.getLayoutVersion()) {
+            corridors = new CorridorGraph(board);
+        }
+        return corridors;
+    }
+
+    /**
+     * Sets the listener told about the steps and events of each tick, or
+     * removes it. The steps of a tick are only timed while a listener is
+     * set.
+     *
+     * @param listener - to be told about each tick, or null for none.
+     */
+    public void setTickListener(TickListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Gets the listener told about the steps and events of each tick.
+     *
+     * @return the tick listener, or null if there is none.
+     */
+    public TickListener getTickListener() {
+        return listener;
+    }
+
+    /**
+     * Sets the ghosts to navigate by shortest paths through the maze in
+     * the CHASE and SCATTER phases, using the given cache of distances,
+     * or back to straight line distances. See Ghost.move(PacmanGame).
+     *
+     * Distances are computed once per target block and board layout, so
+     * moving a ghost costs the same however large the board is once the
+     * distances to its targets are cached.
+     *
+     * @param navigation - cache of distances to navigate by, or null to
+     *                   navigate by euclidean distance.
+     */
+    public void setGhostNavigation(DistanceFieldCache navigation) {
+        this.navigation = navigation;
+    }
+
+    /**
+     * Gets the cache of distances the ghosts navigate by.
+     *
+     * @return the ghost navigation, or null if ghosts navigate by
+     * euclidean distance.
+     */
+    public DistanceFieldCache getGhostNavigation() {
+        return navigation;
+    }
+
+    /*
+     * Runs the steps of tick, timing each one and telling the listener.
+     * Returns the number of ghosts killed.
+     */
+    private int timedTick(TickListener listener) {
+        int pickups = board.remainingPickups();
+        long start = System.nanoTime();
+        hunter.move(this);
+        long end = System.nanoTime();
+        listener.stepFinished(TickStep.HUNTER_MOVE, end - start);
+        int eaten = pickups - board.remainingPickups();
+        if (eaten > 0) {
+            listener.pickupsEaten(eaten);
+        }
+        start = System.nanoTime();
+        hitGhosts();
+        end = System.nanoTime();
+        listener.stepFinished(TickStep.HUNTER_HITS, end - start);
+        start = end;
+        moveGhosts();
+        end = System.nanoTime();
+        listener.stepFinished(TickStep.GHOST_MOVES, end - start);
+        start = end;
+        hitGhosts();
+        end = System.nanoTime();
+        listener.stepFinished(TickStep.GHOST_HITS, end - start);
+        start = end;
+        int killed = respawnGhosts();
+        end = System.nanoTime();
+        listener.stepFinished(TickStep.GHOST_RESPAWN, end - start);
+        if (killed > 0) {
+            listener.ghostsKilled(killed);
+        }
+        start = System.nanoTime();
+        boolean died = respawnHunter();
+        end = System.nanoTime();
+        listener.stepFinished(TickStep.HUNTER_DEATH, end - start);
+        if (died) {
+            listener.hunterDied(lives);
+        }
+        start = System.nanoTime();
+        boolean cleared = clearLevel();
+        end = System.nanoTime();
+        listener.stepFinished(TickStep.LEVEL_CLEAR, end - start);
+        if (cleared) {
+            listener.levelCleared(level);
+        } else {
+            start = end;
+            tick += 1;
+            listener.stepFinished(TickStep.TICK, System.nanoTime() - start);
+        }
+        return killed;
+    }
+
+    /*
+     * The hunter hits each ghost.
+     */
+    private void hitGhosts() {
+        for (Ghost g : ghosts) {
+            hunter.hit(g);
+        }
+        if (swarm != null) {
+            swarm.hit(hunter);
+        }
+    }
+
+    /*
+     * The ghosts that are alive move when the tick is even.
+     */
+    private void moveGhosts() {
+        if (tick % 2 == 0) {
+            for (Ghost g : ghosts) {
+                if (!g.isDead()) {
+                    g.move(this);
                 }
-            } else {
-                // step 8
-                tick += 1;
             }
+            if (swarm != null) {
+                swarm.move(this);
+            }
+        }
+    }
+
+    /*
+     * Respawns each dead ghost for 200 points and returns how many died.
+     */
+    private int respawnGhosts() {
+        int killed = 0;
+        for (Ghost g : ghosts) {
+            if (g.isDead()) {
+                g.reset();
+                g.setPosition(board.getGhostSpawn());
+                scoreBoard.increaseScore(200);
+                killed++;
+            }
+        }
+        if (swarm != null) {
+            int respawned = swarm.respawn(board.getGhostSpawn());
+            scoreBoard.increaseScore(200 * respawned);
+            killed += respawned;
+        }
+        return killed;
+    }
+
+    /*
+     * Resets every ghost and places it at the ghost spawn.
+     */
+    private void resetGhosts() {
+        for (Ghost g : ghosts) {
+            g.reset();
+            g.setPosition(board.getGhostSpawn());
+        }
+        if (swarm != null) {
+            swarm.reset(board.getGhostSpawn());
+        }
+    }
+
+    /*
+     * Takes a life from a dead hunter and respawns every entity, returning
+     * whether the hunter was dead.
+     */
+    private boolean respawnHunter() {
+        if (!hunter.isDead()) {
+            return false;
+        }
+        lives -= 1;
+        hunter.reset();
+        hunter.setPosition(board.getPacmanSpawn());
+        resetGhosts();
+        return true;
+    }
+
+    /*
+     * Moves an empty board up a level, resetting the tick, the board and
+     * every entity, and returns whether the board was empty.
+     */
+    private boolean clearLevel() {
+        if (!board.isEmpty()) {
+            return false;
         }
+        level += 1;
+        tick = 0;
+        board.reset();
+        hunter.reset();
+        hunter.setPosition(board.getPacmanSpawn());
+        resetGhosts();
+        return true;
     }
 
     /**
@@ -279,20 +766,83 @@ public class PacmanGame {
         // reset all entities
         hunter.reset();
         hunter.setPosition(board.getPacmanSpawn());
-        for (Ghost g : getGhosts()) {
-            g.reset();
-            g.setPosition(board.getGhostSpawn());
-        }
+        resetGhosts();
         tick = 0;
     }
 
+    /**
+     * Gets a 64-bit hash of the game state that decides how the game
+     * plays out: the board, the hunter, each ghost, the tick, level and
+     * lives. The score board is not included. Games in equal states have
+     * equal hashes, so the hash can be used to deduplicate states or as
+     * a cache key. The board part is maintained incrementally, so this
+     * does not depend on the size of the board.
+     *
+     * @return hash of the game state.
+     */
+    public long stateHash() {
+        long hash = Zobrist.combine(board.stateHash(), hunter.stateHash());
+        hash = Zobrist.combine(hash, ghostB.stateHash());
+        hash = Zobrist.combine(hash, ghostC.stateHash());
+        hash = Zobrist.combine(hash, ghostI.stateHash());
+        hash = Zobrist.combine(hash, ghostP.stateHash());
+        if (swarm != null) {
+            hash = Zobrist.combine(hash, swarm.stateHash());
+        }
+        hash = Zobrist.combine(hash, tick);
+        hash = Zobrist.combine(hash, level);
+        return Zobrist.combine(hash, lives);
+    }
+
+    /**
+     * Captures the board, hunter, ghosts, ghost swarm, current score,
+     * tick, level and lives of the game so that the game can later be
+     * restored to this state. The title, author and score board entries
+     * are not captured.
+     *
+     * @return an immutable snapshot of the game state.
+     */
+    public GameSnapshot snapshot() {
+        return new GameSnapshot(this);
+    }
+
+    /**
+     * Restores the game to the state captured in a snapshot. The board,
+     * hunter and ghost swarm are replaced by new copies of the captured
+     * ones, so references obtained from getBoard(), getHunter() and
+     * getGhostSwarm() beforehand no longer belong to this game. A game
+     * that had no swarm when captured has none once restored. A snapshot
+     * can be restored any number of times, including into other games of
+     * the same board size.
+     *
+     * @param snapshot - to restore.
+     * @throws NullPointerException if snapshot is null.
+     */
+    public void restore(GameSnapshot snapshot) throws NullPointerException {
+        if (snapshot == null) {
+            throw new NullPointerException();
+        }
+        board = snapshot.copyBoard();
+        hunter = snapshot.copyHunter();
+        snapshot.restoreGhosts(getGhosts());
+        swarm = snapshot.copySwarm();
+        scoreBoard.reset();
+        scoreBoard.increaseScore(snapshot.getScore());
+        tick = snapshot.getTick();
+        level = snapshot.getLevel();
+        lives = snapshot.getLives();
+    }
+
     /**
      * For each ghost in the game, set its phase to be Phase.FRIGHTENED with
      * a duration of Phase.FRIGHTENED.getDuration().
      */
     public void setGhostsFrightened() {
-        for (Ghost g : getGhosts()) {
+        for (Ghost g : ghosts) {
             g.setPhase(Phase.FRIGHTENED, Phase.FRIGHTENED.getDuration());
         }
+        if (swarm != null) {
+            swarm.setFrightened();
+        }
     }
 }
@@ -0,0 +1,28 @@
+package pacman.game;
+
+/**
+ * Why {@link PacmanGame#tickN(int, java.util.function.Predicate)} stopped
+ * ticking.
+ */
+public enum StopReason {
+    /**
+     * Every tick asked for was run.
+     */
+    COMPLETED,
+    /**
+     * The hunter lost a life but has lives left.
+     */
+    LIFE_LOST,
+    /**
+     * The board was cleared and the game moved up a level.
+     */
+    LEVEL_CLEARED,
+    /**
+     * The game has no lives left.
+     */
+    GAME_OVER,
+    /**
+     * The stop condition held.
+     */
+    CONDITION
+}
@@ -0,0 +1,54 @@
+package pacman.game;
+
+/**
+ * Listens to the steps and events of {@link PacmanGame#tick()}, for
+ * example to collect metrics. See {@link TickMetrics}.
+ *
+ * A game only times its steps while a listener is set with
+ * {@link PacmanGame#setTickListener(TickListener)}. Every method does
+ * nothing by default so a listener only implements what it needs.
+ * Listeners are called on the thread ticking the game.
+ */
+public interface TickListener {
+
+    /**
+     * Called after each step of a tick.
+     *
+     * @param step  - that finished.
+     * @param nanos - time the step took in nanoseconds.
+     */
+    default void stepFinished(TickStep step, long nanos) {
+    }
+
+    /**
+     * Called when the hunter ate dots or big dots during a tick.
+     *
+     * @param count - number of dots and big dots eaten.
+     */
+    default void pickupsEaten(int count) {
+    }
+
+    /**
+     * Called when ghosts were killed during a tick.
+     *
+     * @param count - number of ghosts killed.
+     */
+    default void ghostsKilled(int count) {
+    }
+
+    /**
+     * Called when the hunter died and lost a life.
+     *
+     * @param lives - remaining after the death.
+     */
+    default void hunterDied(int lives) {
+    }
+
+    /**
+     * Called when the board was cleared.
+     *
+     * @param level - the game moved up to.
+     */
+    default void levelCleared(int level) {
+    }
+}
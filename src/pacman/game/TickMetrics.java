@@ -0,0 +1,184 @@
+package pacman.game;
+
+import java.util.Arrays;
+
+/**
+ * A TickListener that records a latency histogram for each step of a
+ * tick and counts the events of the game.
+ *
+ * Latencies are counted in power of two buckets, so percentiles are
+ * accurate to within a factor of two. Recording allocates nothing.
+ * Metrics are not thread safe and should be read on the thread ticking
+ * the game, or after it stops.
+ */
+public class TickMetrics implements TickListener {
+
+    // number of histogram buckets, one per bit length of a latency
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    // latency counts of each step by bucket
+    private final long[][] histograms =
+            new long[TickStep.values().length][BUCKETS];
+    // total latency of each step in nanoseconds
+    private final long[] totalNanos = new long[TickStep.values().length];
+    // dots and big dots eaten
+    private long pickupsEaten;
+    // ghosts killed
+    private long ghostKills;
+    // hunter deaths
+    private long hunterDeaths;
+    // levels cleared
+    private long levelClears;
+
+    @Override
+    public void stepFinished(TickStep step, long nanos) {
+        int bucket = Long.SIZE
+                - Long.numberOfLeadingZeros(Math.max(nanos, 0));
+        histograms[step.ordinal()][bucket]++;
+        totalNanos[step.ordinal()] += nanos;
+    }
+
+    @Override
+    public void pickupsEaten(int count) {
+        pickupsEaten += count;
+    }
+
+    @Override
+    public void ghostsKilled(int count) {
+        ghostKills += count;
+    }
+
+    @Override
+    public void hunterDied(int lives) {
+        hunterDeaths++;
+    }
+
+    @Override
+    public void levelCleared(int level) {
+        levelClears++;
+    }
+
+    /**
+     * Gets how many times a step ran.
+     *
+     * @param step - of a tick.
+     * @return number of times the step was recorded.
+     */
+    public long getCount(TickStep step) {
+        long count = 0;
+        for (long bucket : histograms[step.ordinal()]) {
+            count += bucket;
+        }
+        return count;
+    }
+
+    /**
+     * Gets the total time spent in a step.
+     *
+     * @param step - of a tick.
+     * @return nanoseconds spent in the step.
+     */
+    public long getTotalNanos(TickStep step) {
+        return totalNanos[step.ordinal()];
+    }
+
+    /**
+     * Gets an upper bound of the latency under which the given fraction
+     * of the runs of a step finished.
+     *
+     * @param step     - of a tick.
+     * @param fraction - of the runs, from 0 to 1, e.g. 0.99.
+     * @return a power of two number of nanoseconds that is at most twice
+     * the percentile, or 0 if the step never ran.
+     */
+    public long getPercentileNanos(TickStep step, double fraction) {
+        long[] histogram = histograms[step.ordinal()];
+        long count = getCount(step);
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(fraction, 0), 1)
+                * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += histogram[bucket];
+            if (seen >= Math.max(rank, 1)) {
+                return bucket == 0 ? 0 : 1L << Math.min(bucket, 62);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Gets the number of dots and big dots the hunter ate.
+     *
+     * @return pickups eaten.
+     */
+    public long getPickupsEaten() {
+        return pickupsEaten;
+    }
+
+    /**
+     * Gets the number of ghosts the hunter killed.
+     *
+     * @return ghost kills.
+     */
+    public long getGhostKills() {
+        return ghostKills;
+    }
+
+    /**
+     * Gets the number of times the hunter died.
+     *
+     * @return hunter deaths.
+     */
+    public long getHunterDeaths() {
+        return hunterDeaths;
+    }
+
+    /**
+     * Gets the number of boards cleared.
+     *
+     * @return level clears.
+     */
+    public long getLevelClears() {
+        return levelClears;
+    }
+
+    /**
+     * Clears every metric.
+     */
+    public void reset() {
+        for (long[] histogram : histograms) {
+            Arrays.fill(histogram, 0);
+        }
+        Arrays.fill(totalNanos, 0);
+        pickupsEaten = 0;
+        ghostKills = 0;
+        hunterDeaths = 0;
+        levelClears = 0;
+    }
+
+    /**
+     * Gets a summary of the metrics, one line per step with its count,
+     * mean and 99th percentile latency followed by the event counts.
+     *
+     * @return summary of the metrics.
+     */
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder();
+        String sepa = System.lineSeparator();
+        for (TickStep step : TickStep.values()) {
+            long count = getCount(step);
+            summary.append(String.format("%s: count=%d mean=%dns p99<=%dns",
+                    step, count, count == 0 ? 0 : totalNanos[step.ordinal()]
+                            / count, getPercentileNanos(step, 0.99)))
+                    .append(sepa);
+        }
+        return summary.append("pickups=").append(pickupsEaten)
+                .append(" ghostKills=").append(ghostKills)
+                .append(" hunterDeaths=").append(hunterDeaths)
+                .append(" levelClears=").append(levelClears).toString();
+    }
+}
@@ -0,0 +1,39 @@
+package pacman.game;
+
+/**
+ * The steps of {@link PacmanGame#tick()}, in the order they run.
+ */
+public enum TickStep {
+    /**
+     * The hunter moves.
+     */
+    HUNTER_MOVE,
+    /**
+     * The hunter hits each ghost before the ghosts move.
+     */
+    HUNTER_HITS,
+    /**
+     * The ghosts that are alive move on even ticks.
+     */
+    GHOST_MOVES,
+    /**
+     * The hunter hits each ghost after the ghosts move.
+     */
+    GHOST_HITS,
+    /**
+     * The dead ghosts are respawned.
+     */
+    GHOST_RESPAWN,
+    /**
+     * A dead hunter loses a life and the entities are respawned.
+     */
+    HUNTER_DEATH,
+    /**
+     * An empty board is cleared to the next level.
+     */
+    LEVEL_CLEAR,
+    /**
+     * The tick value is increased.
+     */
+    TICK
+}
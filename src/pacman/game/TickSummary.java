@@ -0,0 +1,94 @@
+package pacman.game;
+
+/**
+ * What happened during a run of
+ * {@link PacmanGame#tickN(int, java.util.function.Predicate)}.
+ */
+public class TickSummary {
+
+    // number of ticks run
+    private final int ticks;
+    // why ticking stopped
+    private final StopReason reason;
+    // points scored
+    private final int score;
+    // dots and big dots eaten
+    private final int pickupsEaten;
+    // ghosts killed
+    private final int ghostsKilled;
+
+    /**
+     * Creates a summary of a run of ticks.
+     *
+     * @param ticks        - run.
+     * @param reason       - ticking stopped.
+     * @param score        - points scored.
+     * @param pickupsEaten - dots and big dots eaten.
+     * @param ghostsKilled - ghosts killed.
+     */
+    public TickSummary(int ticks, StopReason reason, int score,
+                       int pickupsEaten, int ghostsKilled) {
+        this.ticks = ticks;
+        this.reason = reason;
+        this.score = score;
+        this.pickupsEaten = pickupsEaten;
+        this.ghostsKilled = ghostsKilled;
+    }
+
+    /**
+     * Gets the number of ticks run.
+     *
+     * @return ticks run.
+     */
+    public int getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Gets why ticking stopped.
+     *
+     * @return the stop reason.
+     */
+    public StopReason getStopReason() {
+        return reason;
+    }
+
+    /**
+     * Gets the points scored while ticking.
+     *
+     * @return points scored.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the number of dots and big dots the hunter ate.
+     *
+     * @return pickups eaten.
+     */
+    public int getPickupsEaten() {
+        return pickupsEaten;
+    }
+
+    /**
+     * Gets the number of ghosts the hunter killed.
+     *
+     * @return ghosts killed.
+     */
+    public int getGhostsKilled() {
+        return ghostsKilled;
+    }
+
+    /**
+     * Represents this summary as a string. Format is:
+     * "ticks,REASON,score,pickupsEaten,ghostsKilled".
+     *
+     * @return "ticks,REASON,score,pickupsEaten,ghostsKilled"
+     */
+    @Override
+    public String toString() {
+        return ticks + "," + reason + "," + score + "," + pickupsEaten + ","
+                + ghostsKilled;
+    }
+}
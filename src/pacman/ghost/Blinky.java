@@ -53,6 +53,6 @@ public class Blinky extends Ghost {
      */
     @Override
     public Position home(PacmanGame game) {
-        return new Position(game.getBoard().getWidth(), -1);
+        return Position.of(game.getBoard().getWidth(), -1);
     }
 }
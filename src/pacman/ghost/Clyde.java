@@ -61,6 +61,6 @@ public class Clyde extends Ghost {
      */
     @Override
     public Position home(PacmanGame game) {
-        return new Position(-1, game.getBoard().getHeight());
+        return Position.of(-1, game.getBoard().getHeight());
     }
 }
@@ -1,9 +1,13 @@
 package pacman.ghost;
 
+import pacman.board.DistanceField;
+import pacman.board.DistanceFieldCache;
+import pacman.board.PacmanBoard;
 import pacman.game.Entity;
 import pacman.game.PacmanGame;
 import pacman.util.Direction;
 import pacman.util.Position;
+import pacman.util.Zobrist;
 
 /**
  * An Abstract Ghost which is a game entity.
@@ -18,6 +22,12 @@ public abstract class Ghost extends Entity {
     private Phase phase;
     // duration of current phase
     private int phaseDuration;
+    // order in which equally distant directions are preferred
+    private static final Direction[] MOVE_ORDER = {
+        Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT
+    };
+    // directions indexed by their ordinal, the bit of their mask
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     /**
      * Creates a ghost which is alive and starts in the SCATTER phase
@@ -61,6 +71,14 @@ public abstract class Ghost extends Entity {
         return phase;
     }
 
+    /**
+     * Get the number of ticks the current phase has left.
+     * @return the phase duration.
+     */
+    public int getPhaseDuration() {
+        return phaseDuration;
+    }
+
     /*
      * NextPhase decreases our phase duration and moves us to the
      * next phase if it is 0.
@@ -71,15 +89,47 @@ public abstract class Ghost extends Entity {
     private void nextPhase() {
         phaseDuration = Integer.max(0, phaseDuration - 1);
         if (phaseDuration == 0) {
-            switch (getPhase()) {
-                case CHASE:
-                    setPhase(Phase.SCATTER, Phase.SCATTER.getDuration());
-                    break;
-                case FRIGHTENED:
-                case SCATTER:
-                    setPhase(Phase.CHASE, Phase.CHASE.getDuration());
-                    break;
-            }
+            endPhase();
+        }
+    }
+
+    /*
+     * Decreases our phase duration as calling nextPhase() the given
+     * number of times would, without counting down one at a time.
+     */
+    private void nextPhases(int count) {
+        if (count <= 0) {
+            return;
+        }
+        // a phase with no duration left ends on the next count
+        int left = Integer.max(1, phaseDuration);
+        if (count < left) {
+            phaseDuration = left - count;
+            return;
+        }
+        count -= left;
+        endPhase();
+        // from here on CHASE and SCATTER take turns
+        count %= Phase.CHASE.getDuration() + Phase.SCATTER.getDuration();
+        while (count >= phaseDuration) {
+            count -= phaseDuration;
+            endPhase();
+        }
+        phaseDuration -= count;
+    }
+
+    /*
+     * Moves us to the phase after the current one, for its full duration.
+     */
+    private void endPhase() {
+        switch (getPhase()) {
+            case CHASE:
+                setPhase(Phase.SCATTER, Phase.SCATTER.getDuration());
+                break;
+            case FRIGHTENED:
+            case SCATTER:
+                setPhase(Phase.CHASE, Phase.CHASE.getDuration());
+                break;
         }
     }
 
@@ -139,7 +189,7 @@ public abstract class Ghost extends Entity {
         this.phase = Phase.SCATTER;
         this.phaseDuration = Phase.SCATTER.getDuration();
         this.setDirection(Direction.UP);
-        this.setPosition(new Position(0, 0));
+        this.setPosition(Position.of(0, 0));
     }
 
     /**
@@ -178,6 +228,14 @@ public abstract class Ghost extends Entity {
      * The chosen direction cannot be opposite to the current direction. If
      * multiple directions have the same shortest distance, then choose the
      * direction in the order UP, LEFT, DOWN, RIGHT
+     * If the game has ghost navigation set, see
+     * PacmanGame.setGhostNavigation(DistanceFieldCache), then in the
+     * CHASE and SCATTER phases the direction with the shortest path
+     * through the maze to the target is chosen instead, with ties broken
+     * in the same order. The euclidean distance is still used when
+     * FRIGHTENED or when no allowed direction has a path to the target.
+     * When at most one direction may be chosen, as in a corridor, it is
+     * chosen without working out the target.
      * 4. Set the direction of the Ghost to the chosen direction.
      * 5. Set the position of this Ghost to be one forward step in the chosen
      * direction.
@@ -187,206 +245,108 @@ public abstract class Ghost extends Entity {
     @Override
     public void move(PacmanGame game) {
         nextPhase();
-        Position targetPosition;
-        Position newPosition = getPosition();
+        PacmanBoard board = game.getBoard();
         int x = getPosition().getX();
         int y = getPosition().getY();
-        // Ghost position when moved 1 step
-        Position newUp = new Position(x, y - 1);
-        Position newLeft = new Position(x - 1, y);
-        Position newDown = new Position(x, y + 1);
-        Position newRight = new Position(x + 1, y);
-        double minDistance = Double.MAX_VALUE;
-        // initial direction (ghost's current direction)
-        Direction newDirection = getDirection();
+        Direction opposite = getDirection().opposite();
+        int pathable = board.getNeighbourMask(x, y);
+        // in a corridor or a dead end there is at most one direction that
+        // may be chosen, whatever the target is
+        int allowed = pathable & ~opposite.mask();
+        if (Integer.bitCount(allowed) <= 1) {
+            if (allowed != 0) {
+                step(DIRECTIONS[Integer.numberOfTrailingZeros(allowed)]);
+            }
+            return;
+        }
         // step 2 select target position (default is SCATTER)
+        Position targetPosition;
         switch (phase) {
             case CHASE:
                 targetPosition = chaseTarget(game);
                 break;
             case FRIGHTENED:
-                int targetX = (x * 24 % (2 * game.getBoard().getWidth())
-                        - game.getBoard().getWidth());
-                int targetY = (y * 36 % (2 * game.getBoard().getHeight())
-                        - game.getBoard().getHeight());
-                targetPosition = new Position(targetX, targetY);
+                int targetX = (x * 24 % (2 * board.getWidth())
+                        - board.getWidth());
+                int targetY = (y * 36 % (2 * board.getHeight())
+                        - board.getHeight());
+                targetPosition = Position.of(targetX, targetY);
                 break;
             default:
                 targetPosition = home(game);
         }
-        // calculate euclidean distance for 4 directions (move 1 step)
-        double upDistance = newUp.distance(targetPosition);
-        double leftDistance = newLeft.distance(targetPosition);
-        double downDistance = newDown.distance(targetPosition);
-        double rightDistance = newRight.distance(targetPosition);
-        // check 'out of board' situations (using outRange() method (a helper))
-        boolean upOutrange = outRange(newUp, game);
-        boolean leftOutrange = outRange(newLeft, game);
-        boolean downOutrange = outRange(newDown, game);
-        boolean rightOutrange = outRange(newRight, game);
-        // adjust distance value to make it far greater than calculated value
-        // if targetposition is unpathable or choose opposite direction
-        // using adjustDistance() method (a helper)
-        upDistance = adjustDistance(upOutrange, newUp, newDirection,
-                upDistance, game, newUp, newLeft, newDown, newRight);
-        leftDistance = adjustDistance(leftOutrange, newLeft, newDirection,
-                leftDistance, game, newUp, newLeft, newDown, newRight);
-        downDistance = adjustDistance(downOutrange, newDown, newDirection,
-                downDistance, game, newUp, newLeft, newDown, newRight);
-        rightDistance = adjustDistance(rightOutrange, newRight,
-                newDirection, rightDistance, game, newUp, newLeft, newDown,
-                newRight);
-        // select the newDirection via smallest distance in order: UP, LEFT,
-        // DOWN, RIGHT (using selectD() method)
-        newDirection = selectD(upDistance, leftDistance, downDistance,
-                rightDistance, minDistance, game);
-        // select newPosition (move 1 step) (using selectP method)
-        newPosition = selectP(newDirection, game, newUp, newLeft, newDown,
-                newRight);
-        // set new direction and new position (using setDnp() method)
-        setDnp(upDistance, leftDistance, downDistance, rightDistance,
-                newDirection, newPosition);
-    }
-
-    /**
-     * a move method helper method to help check whether the new position is
-     * out of board.
-     *
-     * @param newP new position
-     * @param game game information
-     * @return true if out of board, else false
-     */
-    private boolean outRange(Position newP, PacmanGame game) {
-        return (newP.getX() < 0 || newP.getX() >= game.getBoard().getWidth()
-                || newP.getY() < 0
-                || newP.getY() >= game.getBoard().getHeight());
-    }
-
-    /**
-     * a move method helper method to help adjust distance to be compared.
-     *
-     * @param outrange if new position is out of board
-     * @param newP new position
-     * @param newDirection new direction (current direction)
-     * @param distance distance to new position (move 1 step decided by
-     *                 direction)
-     * @param game game information
-     * @param newUp new position up
-     * @param newLeft new position left
-     * @param newDown new position down
-     * @param newRight new position right
-     * @return distance in specific direction that has adjusted
-     */
-    private double adjustDistance(boolean outrange, Position newP,
-                                    Direction newDirection,
-                                    double distance, PacmanGame game,
-                                    Position newUp, Position newLeft,
-                                    Position newDown, Position newRight) {
-        double adjustedDistance = distance;
-        Direction comDirection = newDirection;
-        if (newP.equals(newUp)) {
-            comDirection = Direction.UP;
-        } else if (newP.equals(newLeft)) {
-            comDirection = Direction.LEFT;
-        } else if (newP.equals(newDown)) {
-            comDirection = Direction.DOWN;
-        } else if (newP.equals(newRight)) {
-            comDirection = Direction.RIGHT;
-        }
-        if (outrange) {
-            adjustedDistance = Double.MAX_VALUE;
-        } else if (!game.getBoard().getEntry(newP).getPathable()
-                || newDirection == comDirection.opposite()) {
-            adjustedDistance = Double.MAX_VALUE;
-        }
-        return adjustedDistance;
-    }
-
-    /**
-     * a move method helper method to help select the new direction.
-     *
-     * @param upDistance new up position distance
-     * @param leftDistance new left position distance
-     * @param downDistance new down position distance
-     * @param rightDistance new right position distance
-     * @param minDistance the initial minimum distance in the move
-     * @param game game information
-     * @return new direction to be selected
-     */
-    private Direction selectD(double upDistance, double leftDistance,
-                              double downDistance, double rightDistance,
-                              double minDistance, PacmanGame game) {
-        Direction newDirection = game.getHunter().getDirection();
-        double comDistance = minDistance;
-        if (upDistance < minDistance) {
-            comDistance = upDistance;
-            newDirection = Direction.UP;
-        }
-        if (leftDistance < comDistance) {
-            comDistance = leftDistance;
-            newDirection = Direction.LEFT;
+        Direction newDirection = null;
+        // step 3 through the maze, each distance is a single lookup
+        DistanceFieldCache navigation = game.getGhostNavigation();
+        if (navigation != null && phase != Phase.FRIGHTENED) {
+            // every ghost chasing the same block this tick shares one
+            // field, so a tick computes at most one field per target
+            DistanceField field = navigation.get(board, targetPosition);
+            int minSteps = DistanceField.UNREACHABLE;
+            for (Direction direction : MOVE_ORDER) {
+                if (direction == opposite
+                        || (pathable & direction.mask()) == 0) {
+                    continue;
+                }
+                int steps = field.distance(x + direction.offset().getX(),
+                        y + direction.offset().getY());
+                if (steps < minSteps) {
+                    minSteps = steps;
+                    newDirection = direction;
+                }
+            }
         }
-        if (downDistance < comDistance) {
-            comDistance = downDistance;
-            newDirection = Direction.DOWN;
+        // step 3 only the ordering of distances matters, so compare the
+        // squared distances rather than the euclidean distances
+        if (newDirection == null) {
+            long minDistance = Long.MAX_VALUE;
+            for (Direction direction : MOVE_ORDER) {
+                if (direction == opposite
+                        || (pathable & direction.mask()) == 0) {
+                    continue;
+                }
+                int newX = x + direction.offset().getX();
+                int newY = y + direction.offset().getY();
+                long dx = newX - targetPosition.getX();
+                long dy = newY - targetPosition.getY();
+                long distance = dx * dx + dy * dy;
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    newDirection = direction;
+                }
+            }
         }
-        if (rightDistance < comDistance) {
-            comDistance = rightDistance;
-            newDirection = Direction.RIGHT;
+        // step 4 and 5, if stuck keep current position and direction
+        if (newDirection != null) {
+            step(newDirection);
         }
-        return newDirection;
     }
 
     /**
-     * a move method helper method to help select new position by new direction.
+     * Moves the ghost a number of blocks straight on in its direction,
+     * counting down its phase once for each block. This is the same as
+     * calling move(PacmanGame) that many times while the ghost walks
+     * along a corridor towards a junction, where it has no other
+     * direction to choose, see CorridorGraph.stepsToJunction.
      *
-     * @param newDirection new direction to be selected
-     * @param game game information
-     * @param newUp new position forwards UP
-     * @param newLeft new position forwards LEFT
-     * @param newDown new position forwards DOWN
-     * @param newRight new position forwards RIGHT
-     * @return new position to be selected
+     * @param blocks - to move, at most the steps to the next junction.
      */
-    private Position selectP(Direction newDirection, PacmanGame game,
-                             Position newUp, Position newLeft,
-                             Position newDown, Position newRight) {
-        Position newPosition = game.getHunter().getPosition();
-        if (newDirection == Direction.UP) {
-            newPosition = newUp;
-        } else if (newDirection == Direction.LEFT) {
-            newPosition = newLeft;
-        } else if (newDirection == Direction.DOWN) {
-            newPosition = newDown;
-        } else if (newDirection == Direction.RIGHT) {
-            newPosition = newRight;
-        }
-        return newPosition;
+    public void moveAlong(int blocks) {
+        nextPhases(blocks);
+        setPosition(Position.of(getPosition().getX()
+                + getDirection().offset().getX() * blocks,
+                getPosition().getY()
+                        + getDirection().offset().getY() * blocks));
     }
 
-    /**
-     * a move method helper method. if get stuck, then keep current position
-     * and current direction; else set new position and new direction.
-     *
-     * @param upDistance distance to up
-     * @param leftDistance distance to left
-     * @param downDistance distance to down
-     * @param rightDistance distance to right
-     * @param newDirection new direction to be set
-     * @param newPosition new position to be set
+    /*
+     * Turns the ghost to a direction and moves it one block that way.
      */
-    private void setDnp(double upDistance, double leftDistance,
-                          double downDistance, double rightDistance,
-                          Direction newDirection, Position newPosition) {
-        if (upDistance == Double.MAX_VALUE && leftDistance == Double.MAX_VALUE
-                && downDistance == Double.MAX_VALUE
-                && rightDistance == Double.MAX_VALUE) {
-            setDirection(getDirection());
-            setPosition(getPosition());
-        } else {
-            setPosition(newPosition);
-            setDirection(newDirection);
-        }
+    private void step(Direction direction) {
+        setPosition(Position.of(getPosition().getX()
+                + direction.offset().getX(), getPosition().getY()
+                + direction.offset().getY()));
+        setDirection(direction);
     }
 
     /**
@@ -422,6 +382,19 @@ public abstract class Ghost extends Entity {
                 + this.phaseDuration;
     }
 
+    /**
+     * Gets a 64-bit hash of this Ghost's type, position, direction,
+     * phase, phase duration and alive/dead status.
+     *
+     * @return hash of the ghost's state.
+     */
+    @Override
+    public long stateHash() {
+        long hash = Zobrist.combine(super.stateHash(), phase.ordinal());
+        hash = Zobrist.combine(hash, phaseDuration);
+        return Zobrist.combine(hash, dead ? 1 : 0);
+    }
+
     /**
      * Represents this Ghost in a comma-seperated string format. Format is:
      * "x,y,DIRECTION,PHASE:phaseDuration". DIRECTION is the uppercase enum
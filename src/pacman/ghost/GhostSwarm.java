@@ -0,0 +1,536 @@
+package pacman.ghost;
+
+import pacman.board.DistanceField;
+import pacman.board.DistanceFieldCache;
+import pacman.board.PacmanBoard;
+import pacman.game.PacmanGame;
+import pacman.hunter.Hunter;
+import pacman.util.Direction;
+import pacman.util.Position;
+import pacman.util.Zobrist;
+
+import java.util.List;
+
+/**
+ * A swarm of ghosts, any number of each GhostType, stored as one array
+ * per attribute rather than one object per ghost so that large numbers of
+ * ghosts can be moved in a single pass over the arrays.
+ *
+ * Each ghost of the swarm follows exactly the same rules as a Ghost of
+ * its type, see {@link Ghost#move(PacmanGame)}, so a swarm ghost moves
+ * the same way as a Blinky, Clyde, Inky or Pinky in the same state. Ghosts
+ * are referred to by their index in the roster the swarm was created with.
+ *
+ * The swarm keeps track of which ghosts are on each block of the board it
+ * moves on, so the hunter only has to be checked against the ghosts it
+ * shares a block with.
+ */
+public class GhostSwarm {
+
+    // directions indexed by their ordinal, the bit of their mask
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // phases indexed by their ordinal
+    private static final Phase[] PHASES = Phase.values();
+    // ghost types indexed by their ordinal
+    private static final GhostType[] TYPES = GhostType.values();
+    // order in which equally distant directions are preferred
+    private static final Direction[] MOVE_ORDER = {
+        Direction.UP, Direction.LEFT, Direction.DOWN, Direction.RIGHT
+    };
+
+    // number of ghosts
+    private final int size;
+    // type ordinal of each ghost
+    private final byte[] types;
+    // x coordinate of each ghost
+    private final int[] xs;
+    // y coordinate of each ghost
+    private final int[] ys;
+    // direction ordinal of each ghost
+    private final byte[] directions;
+    // phase ordinal of each ghost
+    private final byte[] phases;
+    // duration of the current phase of each ghost
+    private final int[] phaseDurations;
+    // whether each ghost is dead
+    private final boolean[] dead;
+    // stands in for a ghost of the swarm when the hunter hits it
+    private final Ghost probe = new Blinky();
+    // ghosts on each block of the board, built on the first move
+    private OccupancyGrid grid;
+
+    /**
+     * Creates a swarm of the given number of ghosts, their types cycling
+     * through BLINKY, CLYDE, INKY and PINKY. Each ghost starts as a new
+     * Ghost does: alive, in the SCATTER phase, facing up at (0, 0).
+     *
+     * @param size - number of ghosts.
+     * @throws IllegalArgumentException if size is negative.
+     */
+    public GhostSwarm(int size) throws IllegalArgumentException {
+        this(size, null);
+    }
+
+    /**
+     * Creates a swarm with one ghost of each type in the roster, in the
+     * same order. Each ghost starts as a new Ghost does: alive, in the
+     * SCATTER phase, facing up at (0, 0).
+     *
+     * @param roster - type of each ghost.
+     * @throws NullPointerException if roster or any type in it is null.
+     */
+    public GhostSwarm(List<GhostType> roster) throws NullPointerException {
+        this(roster.size(), roster);
+    }
+
+    /**
+     * Creates a copy of a swarm, with the same type, position, direction,
+     * phase and dead status for each ghost. The copy changes
+     * independently of the original.
+     *
+     * @param original - swarm to copy.
+     * @throws NullPointerException if original is null.
+     */
+    public GhostSwarm(GhostSwarm original) throws NullPointerException {
+        this.size = original.size;
+        this.types = original.types.clone();
+        this.xs = original.xs.clone();
+        this.ys = original.ys.clone();
+        this.directions = original.directions.clone();
+        this.phases = original.phases.clone();
+        this.phaseDurations = original.phaseDurations.clone();
+        this.dead = original.dead.clone();
+    }
+
+    /*
+     * Creates a swarm from a roster, or cycling through the types if the
+     * roster is null.
+     */
+    private GhostSwarm(int size, List<GhostType> roster) {
+        if (size < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.size = size;
+        this.types = new byte[size];
+        this.xs = new int[size];
+        this.ys = new int[size];
+        this.directions = new byte[size];
+        this.phases = new byte[size];
+        this.phaseDurations = new int[size];
+        this.dead = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            GhostType type = roster == null ? TYPES[i % TYPES.length]
+                    : roster.get(i);
+            types[i] = (byte) type.ordinal();
+            reset(i);
+        }
+    }
+
+    /**
+     * Gets the number of ghosts in the swarm.
+     *
+     * @return number of ghosts.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the type of a ghost.
+     *
+     * @param i - index of the ghost.
+     * @return the ghost's type.
+     */
+    public GhostType getType(int i) {
+        return TYPES[types[i]];
+    }
+
+    /**
+     * Gets the position of a ghost.
+     *
+     * @param i - index of the ghost.
+     * @return the ghost's position.
+     */
+    public Position getPosition(int i) {
+        return Position.of(xs[i], ys[i]);
+    }
+
+    /**
+     * Sets the position of a ghost.
+     *
+     * @param i        - index of the ghost.
+     * @param position - to move the ghost to, ignored if null.
+     */
+    public void setPosition(int i, Position position) {
+        if (position != null) {
+            place(i, position.getX(), position.getY());
+        }
+    }
+
+    /**
+     * Gets the direction a ghost is facing.
+     *
+     * @param i - index of the ghost.
+     * @return the ghost's direction.
+     */
+    public Direction getDirection(int i) {
+        return DIRECTIONS[directions[i]];
+    }
+
+    /**
+     * Sets the direction a ghost is facing.
+     *
+     * @param i         - index of the ghost.
+     * @param direction - to face, ignored if null.
+     */
+    public void setDirection(int i, Direction direction) {
+        if (direction != null) {
+            directions[i] = (byte) direction.ordinal();
+        }
+    }
+
+    /**
+     * Gets the phase of a ghost.
+     *
+     * @param i - index of the ghost.
+     * @return the ghost's phase.
+     */
+    public Phase getPhase(int i) {
+        return PHASES[phases[i]];
+    }
+
+    /**
+     * Gets the number of ticks the current phase of a ghost has left.
+     *
+     * @param i - index of the ghost.
+     * @return the ghost's phase duration.
+     */
+    public int getPhaseDuration(int i) {
+        return phaseDurations[i];
+    }
+
+    /**
+     * Sets the phase of a ghost in the same way as
+     * {@link Ghost#setPhase(Phase, int)}.
+     *
+     * @param i        - index of the ghost.
+     * @param phase    - to set the ghost to, ignored if null.
+     * @param duration - of the phase, at least 0.
+     */
+    public void setPhase(int i, Phase phase, int duration) {
+        if (phase != null) {
+            phases[i] = (byte) phase.ordinal();
+            phaseDurations[i] = Integer.max(0, duration);
+        }
+    }
+
+    /**
+     * Sets every ghost to be Phase.FRIGHTENED with a duration of
+     * Phase.FRIGHTENED.getDuration().
+     */
+    public void setFrightened() {
+        for (int i = 0; i < size; i++) {
+            setPhase(i, Phase.FRIGHTENED, Phase.FRIGHTENED.getDuration());
+        }
+    }
+
+    /**
+     * Checks if a ghost is dead.
+     *
+     * @param i - index of the ghost.
+     * @return true if dead, false otherwise.
+     */
+    public boolean isDead(int i) {
+        return dead[i];
+    }
+
+    /**
+     * Kills a ghost.
+     *
+     * @param i - index of the ghost.
+     */
+    public void kill(int i) {
+        dead[i] = true;
+    }
+
+    /*
+     * Resets a ghost in the same way as Ghost.reset().
+     */
+    private void reset(int i) {
+        dead[i] = false;
+        phases[i] = (byte) Phase.SCATTER.ordinal();
+        phaseDurations[i] = Phase.SCATTER.getDuration();
+        directions[i] = (byte) Direction.UP.ordinal();
+        place(i, 0, 0);
+    }
+
+    /*
+     * Moves a ghost to the given coordinates, keeping the occupancy grid
+     * in step.
+     */
+    private void place(int i, int x, int y) {
+        xs[i] = x;
+        ys[i] = y;
+        if (grid != null) {
+            grid.place(i, x, y);
+        }
+    }
+
+    /**
+     * Resets every ghost as {@link Ghost#reset()} does and places them at
+     * the given spawn.
+     *
+     * @param spawn - position to place the ghosts at.
+     */
+    public void reset(Position spawn) {
+        for (int i = 0; i < size; i++) {
+            reset(i);
+            setPosition(i, spawn);
+        }
+    }
+
+    /**
+     * Resets every dead ghost and places it at the given spawn.
+     *
+     * @param spawn - position to place the ghosts at.
+     * @return the number of ghosts that were dead.
+     */
+    public int respawn(Position spawn) {
+        int respawned = 0;
+        for (int i = 0; i < size; i++) {
+            if (dead[i]) {
+                reset(i);
+                setPosition(i, spawn);
+                respawned++;
+            }
+        }
+        return respawned;
+    }
+
+    /**
+     * Has the hunter hit every ghost it shares a block with, in the same
+     * way as {@link Hunter#hit(Ghost)}, so each kind of hunter keeps its
+     * own rules for who dies.
+     *
+     * Once the swarm has moved on a board only the ghosts on the hunter's
+     * block are visited, so hitting takes time in proportion to the
+     * number of collisions rather than the size of the swarm.
+     *
+     * @param hunter - hitting the ghosts.
+     */
+    public void hit(Hunter hunter) {
+        int hx = hunter.getPosition().getX();
+        int hy = hunter.getPosition().getY();
+        if (grid != null && grid.contains(hx, hy)) {
+            for (int i = grid.first(hx, hy); i != OccupancyGrid.NONE;
+                 i = grid.next(i)) {
+                hit(hunter, i);
+            }
+            return;
+        }
+        for (int i = 0; i < size; i++) {
+            if (xs[i] == hx && ys[i] == hy) {
+                hit(hunter, i);
+            }
+        }
+    }
+
+    /*
+     * Has the hunter hit a ghost on its block through the stand-in ghost.
+     */
+    private void hit(Hunter hunter, int i) {
+        probe.reset();
+        probe.setPosition(Position.of(xs[i], ys[i]));
+        probe.setPhase(PHASES[phases[i]], phaseDurations[i]);
+        hunter.hit(probe);
+        if (probe.isDead()) {
+            dead[i] = true;
+        }
+    }
+
+    /**
+     * Moves every ghost that is alive one block, in the same way as
+     * {@link Ghost#move(PacmanGame)} moves a ghost of its type.
+     *
+     * @param game - information needed to decide movement.
+     */
+    public void move(PacmanGame game) {
+        PacmanBoard board = game.getBoard();
+        DistanceFieldCache navigation = game.getGhostNavigation();
+        Position hunter = game.getHunter().getPosition();
+        Direction facing = game.getHunter().getDirection();
+        int width = board.getWidth();
+        int height = board.getHeight();
+        if (grid == null || !grid.fits(width, height)) {
+            grid = new OccupancyGrid(width, height, size);
+            for (int i = 0; i < size; i++) {
+                grid.place(i, xs[i], ys[i]);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (dead[i]) {
+                continue;
+            }
+            nextPhase(i);
+            int x = xs[i];
+            int y = ys[i];
+            Direction opposite = DIRECTIONS[directions[i]].opposite();
+            int pathable = board.getNeighbourMask(x, y);
+            // in a corridor or a dead end there is at most one direction
+            // that may be chosen, whatever the target is
+            int allowed = pathable & ~opposite.mask();
+            if (Integer.bitCount(allowed) <= 1) {
+                if (allowed != 0) {
+                    step(i, Integer.numberOfTrailingZeros(allowed));
+                }
+                continue;
+            }
+            int targetX;
+            int targetY;
+            Phase phase = PHASES[phases[i]];
+            if (phase == Phase.FRIGHTENED) {
+                targetX = x * 24 % (2 * width) - width;
+                targetY = y * 36 % (2 * height) - height;
+            } else if (phase == Phase.CHASE && chasesHunter(i, hunter)) {
+                int reach = TYPES[types[i]] == GhostType.PINKY ? 4
+                        : TYPES[types[i]] == GhostType.INKY ? -2 : 0;
+                targetX = hunter.getX() + facing.offset().getX() * reach;
+                targetY = hunter.getY() + facing.offset().getY() * reach;
+            } else {
+                targetX = homeX(i, width);
+                targetY = homeY(i, height);
+            }
+            Direction chosen = null;
+            if (navigation != null && phase != Phase.FRIGHTENED) {
+                chosen = closestByMaze(navigation.get(board,
+                        Position.of(targetX, targetY)), x, y, allowed);
+            }
+            if (chosen == null) {
+                chosen = closestByLine(x, y, allowed, targetX, targetY);
+            }
+            step(i, chosen.ordinal());
+        }
+    }
+
+    /*
+     * Counts down the phase of a ghost, moving it to the next phase in the
+     * same way as Ghost.move().
+     */
+    private void nextPhase(int i) {
+        phaseDurations[i] = Integer.max(0, phaseDurations[i] - 1);
+        if (phaseDurations[i] == 0) {
+            if (phases[i] == Phase.CHASE.ordinal()) {
+                setPhase(i, Phase.SCATTER, Phase.SCATTER.getDuration());
+            } else {
+                setPhase(i, Phase.CHASE, Phase.CHASE.getDuration());
+            }
+        }
+    }
+
+    /*
+     * Checks if a chasing ghost targets the hunter rather than its home,
+     * Clyde only chasing while at least 8 blocks away.
+     */
+    private boolean chasesHunter(int i, Position hunter) {
+        if (TYPES[types[i]] != GhostType.CLYDE) {
+            return true;
+        }
+        long dx = xs[i] - hunter.getX();
+        long dy = ys[i] - hunter.getY();
+        return dx * dx + dy * dy >= 64;
+    }
+
+    /*
+     * Gets the x coordinate of a ghost's home, one block off the left or
+     * right of the board.
+     */
+    private int homeX(int i, int width) {
+        GhostType type = TYPES[types[i]];
+        return type == GhostType.BLINKY || type == GhostType.INKY ? width
+                : -1;
+    }
+
+    /*
+     * Gets the y coordinate of a ghost's home, one block off the top or
+     * bottom of the board.
+     */
+    private int homeY(int i, int height) {
+        GhostType type = TYPES[types[i]];
+        return type == GhostType.CLYDE || type == GhostType.INKY ? height
+                : -1;
+    }
+
+    /*
+     * Chooses the allowed direction with the shortest path to the target,
+     * or null if none has a path. Ghosts chasing the same block share its
+     * field, so a tick computes at most one field per target.
+     */
+    private static Direction closestByMaze(DistanceField field, int x, int y,
+                                           int allowed) {
+        Direction closest = null;
+        int minSteps = DistanceField.UNREACHABLE;
+        for (Direction direction : MOVE_ORDER) {
+            if ((allowed & direction.mask()) == 0) {
+                continue;
+            }
+            int steps = field.distance(x + direction.offset().getX(),
+                    y + direction.offset().getY());
+            if (steps < minSteps) {
+                minSteps = steps;
+                closest = direction;
+            }
+        }
+        return closest;
+    }
+
+    /*
+     * Chooses the allowed direction closest to the target in a straight
+     * line, comparing squared distances.
+     */
+    private static Direction closestByLine(int x, int y, int allowed,
+                                           int targetX, int targetY) {
+        Direction closest = null;
+        long minDistance = Long.MAX_VALUE;
+        for (Direction direction : MOVE_ORDER) {
+            if ((allowed & direction.mask()) == 0) {
+                continue;
+            }
+            long dx = x + direction.offset().getX() - targetX;
+            long dy = y + direction.offset().getY() - targetY;
+            if (dx * dx + dy * dy < minDistance) {
+                minDistance = dx * dx + dy * dy;
+                closest = direction;
+            }
+        }
+        return closest;
+    }
+
+    /*
+     * Turns a ghost to a direction and moves it one block that way.
+     */
+    private void step(int i, int direction) {
+        place(i, xs[i] + DIRECTIONS[direction].offset().getX(),
+                ys[i] + DIRECTIONS[direction].offset().getY());
+        directions[i] = (byte) direction;
+    }
+
+    /**
+     * Gets a 64-bit hash of the type, position, direction, phase, phase
+     * duration and alive/dead status of every ghost in the swarm.
+     *
+     * @return hash of the swarm's state.
+     */
+    public long stateHash() {
+        long hash = Zobrist.key(size);
+        for (int i = 0; i < size; i++) {
+            hash = Zobrist.combine(hash, types[i]);
+            hash = Zobrist.combine(hash, xs[i]);
+            hash = Zobrist.combine(hash, ys[i]);
+            hash = Zobrist.combine(hash, directions[i]);
+            hash = Zobrist.combine(hash, phases[i]);
+            hash = Zobrist.combine(hash, phaseDurations[i]);
+            hash = Zobrist.combine(hash, dead[i] ? 1 : 0);
+        }
+        return hash;
+    }
+}
@@ -47,7 +47,7 @@ public class Inky extends Ghost {
         int targetY = game.getHunter().getPosition().getY()
                 + game.getHunter().getDirection().opposite().offset().getY()
                 * 2;
-        return new Position(targetX, targetY);
+        return Position.of(targetX, targetY);
     }
 
     /**
@@ -59,7 +59,7 @@ public class Inky extends Ghost {
      */
     @Override
     public Position home(PacmanGame game) {
-        return new Position(game.getBoard().getWidth(),
+        return Position.of(game.getBoard().getWidth(),
                 game.getBoard().getHeight());
     }
 }
@@ -0,0 +1,127 @@
+package pacman.ghost;
+
+import java.util.Arrays;
+
+/**
+ * Which ghosts of a GhostSwarm are on each block of a board, kept as a
+ * linked list of ghost indices per block so that moving a ghost and
+ * finding the ghosts on a block take time in proportion to the number of
+ * ghosts on that block only.
+ */
+final class OccupancyGrid {
+
+    /**
+     * Marks the end of a list of ghosts, or a ghost outside of the board.
+     */
+    static final int NONE = -1;
+
+    // width of the board
+    private final int width;
+    // height of the board
+    private final int height;
+    // first ghost on each block indexed by y * width + x
+    private final int[] heads;
+    // next ghost on the same block as each ghost
+    private final int[] next;
+    // previous ghost on the same block as each ghost
+    private final int[] previous;
+    // block of each ghost, or NONE if it is outside of the board
+    private final int[] blocks;
+
+    /**
+     * Creates an empty grid for a board and a number of ghosts.
+     *
+     * @param width  - of the board.
+     * @param height - of the board.
+     * @param ghosts - number of ghosts that may be placed.
+     */
+    OccupancyGrid(int width, int height, int ghosts) {
+        this.width = width;
+        this.height = height;
+        this.heads = new int[width * height];
+        this.next = new int[ghosts];
+        this.previous = new int[ghosts];
+        this.blocks = new int[ghosts];
+        Arrays.fill(heads, NONE);
+        Arrays.fill(blocks, NONE);
+    }
+
+    /**
+     * Checks if the grid was made for a board of the given size.
+     *
+     * @param width  - of the board.
+     * @param height - of the board.
+     * @return true if the grid covers a board of that size.
+     */
+    boolean fits(int width, int height) {
+        return this.width == width && this.height == height;
+    }
+
+    /**
+     * Checks if a block is on the board the grid covers.
+     *
+     * @param x coordinate of the block.
+     * @param y coordinate of the block.
+     * @return true if the block is within the board.
+     */
+    boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Moves a ghost to a block, taking it off the block it was on.
+     *
+     * @param ghost - index of the ghost.
+     * @param x     coordinate of the block.
+     * @param y     coordinate of the block.
+     */
+    void place(int ghost, int x, int y) {
+        int block = contains(x, y) ? y * width + x : NONE;
+        int old = blocks[ghost];
+        if (old == block) {
+            return;
+        }
+        if (old != NONE) {
+            // unlink the ghost from its old block
+            if (previous[ghost] == NONE) {
+                heads[old] = next[ghost];
+            } else {
+                next[previous[ghost]] = next[ghost];
+            }
+            if (next[ghost] != NONE) {
+                previous[next[ghost]] = previous[ghost];
+            }
+        }
+        blocks[ghost] = block;
+        if (block != NONE) {
+            previous[ghost] = NONE;
+            next[ghost] = heads[block];
+            if (heads[block] != NONE) {
+                previous[heads[block]] = ghost;
+            }
+            heads[block] = ghost;
+        }
+    }
+
+    /**
+     * Gets the first ghost on a block.
+     *
+     * @param x coordinate of the block, within the board.
+     * @param y coordinate of the block, within the board.
+     * @return index of a ghost on the block, or NONE if there are none.
+     */
+    int first(int x, int y) {
+        return heads[y * width + x];
+    }
+
+    /**
+     * Gets the next ghost on the same block as a ghost.
+     *
+     * @param ghost - index of the ghost.
+     * @return index of the next ghost on the block, or NONE if there are
+     * no more.
+     */
+    int next(int ghost) {
+        return next[ghost];
+    }
+}
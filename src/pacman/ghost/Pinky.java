@@ -45,7 +45,7 @@ public class Pinky extends Ghost {
                 + game.getHunter().getDirection().offset().getX() * 4;
         int targetY = game.getHunter().getPosition().getY()
                 + game.getHunter().getDirection().offset().getY() * 4;
-        return new Position(targetX, targetY);
+        return Position.of(targetX, targetY);
     }
 
     /**
@@ -57,6 +57,6 @@ public class Pinky extends Ghost {
      */
     @Override
     public Position home(PacmanGame game) {
-        return new Position(-1, -1);
+        return Position.of(-1, -1);
     }
 }
@@ -53,6 +53,15 @@ public class Hungry extends Hunter {
         }
     }
 
+    /**
+     * Get Hungry's type.
+     * @return HUNGRY
+     */
+    @Override
+    public HunterType getType() {
+        return HunterType.HUNGRY;
+    }
+
     /**
      * Represents this Hungry in a comma-seperated string format. Format is:
      * "x,y,DIRECTION,specialDuration,HUNGRY". DIRECTION is the uppercase
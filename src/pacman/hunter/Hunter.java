@@ -8,6 +8,7 @@ import pacman.ghost.Phase;
 import pacman.score.ScoreBoard;
 import pacman.util.Direction;
 import pacman.util.Position;
+import pacman.util.Zobrist;
 
 /**
  * Hunters are entities which are controlled by the player to clear
@@ -80,6 +81,12 @@ public abstract class Hunter extends Entity {
         setDirection(original.getDirection());
     }
 
+    /**
+     * Gets the hunter's type.
+     * @return this hunter's type.
+     */
+    public abstract HunterType getType();
+
     /**
      * Tells if the hunter is dead.
      * @return true if dead, false otherwise.
@@ -175,7 +182,7 @@ public abstract class Hunter extends Entity {
         used = false;
         duration = 0;
         setDirection(Direction.UP);
-        setPosition(new Position(0, 0));
+        setPosition(Position.of(0, 0));
     }
 
     /**
@@ -192,19 +199,29 @@ public abstract class Hunter extends Entity {
      */
     @Override
     public void move(PacmanGame game) {
-        int targetX = getDirection().offset().getX() + getPosition().getX();
-        int targetY = getDirection().offset().getY() + getPosition().getY();
-        Position targetPosition = new Position(targetX, targetY);
         PacmanBoard pacBoard = game.getBoard();
         ScoreBoard socBoard = game.getScores();
-        if (targetX >= game.getBoard().getWidth() || targetX < 0
-                || targetY >= game.getBoard().getHeight() || targetY < 0) {
-            targetPosition = getPosition();
+        int targetX = getPosition().getX();
+        int targetY = getPosition().getY();
+        boolean pathable;
+        if ((pacBoard.getNeighbourMask(targetX, targetY)
+                & getDirection().mask()) != 0) {
+            targetX += getDirection().offset().getX();
+            targetY += getDirection().offset().getY();
+            pathable = true;
+        } else {
+            // moving off of the board keeps the hunter where it is
+            int nextX = targetX + getDirection().offset().getX();
+            int nextY = targetY + getDirection().offset().getY();
+            pathable = (nextX >= pacBoard.getWidth() || nextX < 0
+                    || nextY >= pacBoard.getHeight() || nextY < 0)
+                    && pacBoard.isPathable(targetX, targetY);
         }
-        if (pacBoard.getEntry(targetPosition).getPathable()) {
+        if (pathable) {
+            Position targetPosition = Position.of(targetX, targetY);
             setPosition(targetPosition);
             socBoard.increaseScore(
-                    pacBoard.getEntry(targetPosition).getScore());
+                    pacBoard.getEntry(targetX, targetY).getScore());
             pacBoard.eatDot(targetPosition);
         }
         if (this.duration > 0) {
@@ -247,6 +264,19 @@ public abstract class Hunter extends Entity {
         return getPosition().hashCode() + getDirection().hashCode() + duration;
     }
 
+    /**
+     * Gets a 64-bit hash of this Hunter's type, position, direction,
+     * special duration, special used status and alive/dead status.
+     *
+     * @return hash of the hunter's state.
+     */
+    @Override
+    public long stateHash() {
+        long hash = Zobrist.combine(super.stateHash(), duration);
+        hash = Zobrist.combine(hash, used ? 1 : 0);
+        return Zobrist.combine(hash, dead ? 1 : 0);
+    }
+
     /**
      * Represents this Hunter in a comma-seperated string format. Format is:
      * "x,y,DIRECTION,specialDuration". DIRECTION is the uppercase enum type
@@ -21,5 +21,47 @@ public enum HunterType {
     /**
      * basic phil, has no special ability.
      */
-    PHIL
+    PHIL;
+
+    /**
+     * Creates a new hunter of this type.
+     *
+     * @return a hunter as created by the no argument constructor of the
+     * class for this type.
+     */
+    public Hunter newHunter() {
+        switch (this) {
+            case SPEEDY:
+                return new Speedy();
+            case PHASEY:
+                return new Phasey();
+            case HUNGRY:
+                return new Hungry();
+            default:
+                return new Phil();
+        }
+    }
+
+    /**
+     * Creates a hunter of this type by copying the internal state of
+     * another hunter.
+     *
+     * see {@link Hunter#Hunter(Hunter)}
+     *
+     * @param original hunter to copy from
+     * @return a hunter as created by the copy constructor of the class
+     * for this type.
+     */
+    public Hunter newHunter(Hunter original) {
+        switch (this) {
+            case SPEEDY:
+                return new Speedy(original);
+            case PHASEY:
+                return new Phasey(original);
+            case HUNGRY:
+                return new Hungry(original);
+            default:
+                return new Phil(original);
+        }
+    }
 }
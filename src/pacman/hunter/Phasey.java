@@ -54,6 +54,15 @@ public class Phasey extends Hunter {
         }
     }
 
+    /**
+     * Get Phasey's type.
+     * @return PHASEY
+     */
+    @Override
+    public HunterType getType() {
+        return HunterType.PHASEY;
+    }
+
     /**
      * Represents this Phasey in a comma-seperated string format. Format is:
      * "x,y,DIRECTION,specialDuration,PHASEY". DIRECTION is the uppercase
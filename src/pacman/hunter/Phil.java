@@ -39,6 +39,15 @@ public class Phil extends Hunter {
         return false;
     }
 
+    /**
+     * Get Phil's type.
+     * @return PHIL
+     */
+    @Override
+    public HunterType getType() {
+        return HunterType.PHIL;
+    }
+
     /**
      * Represents this Phil in a comma-seperated string format. Format is:
      * "x,y,DIRECTION,specialDuration,PHIL". DIRECTION is the uppercase enum
@@ -50,6 +50,15 @@ public class Speedy extends Hunter {
         super.move(game);
     }
 
+    /**
+     * Get Speedy's type.
+     * @return SPEEDY
+     */
+    @Override
+    public HunterType getType() {
+        return HunterType.SPEEDY;
+    }
+
     /**
      * Represents this Speedy in a comma-seperated string format. Format is:
      * "x,y,DIRECTION,specialDuration,SPEEDY". DIRECTION is the uppercase
@@ -0,0 +1,258 @@
+package pacman.score;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A score board that many threads can set scores on at the same time,
+ * for a leaderboard shared between game sessions.
+ *
+ * Scores follow the same rules as {@link ScoreBoard}: names must be
+ * valid score names and values must not be negative, otherwise the
+ * score is skipped.
+ *
+ * Entries are held in concurrent skip lists ordered by name and by
+ * score. A setter holds two locks: a read-write lock shared by every
+ * setter, and one of 64 stripe locks, picked by the hash of the name,
+ * that keeps both orderings of the name in step. Setters of names on
+ * different stripes run in parallel. Setters of the same name, or of
+ * names that share a stripe, take turns.
+ *
+ * Reads that see every entry at a single point in time hold the
+ * read-write lock exclusively while they copy, so every setter waits
+ * for them. getEntriesByName(), getEntriesByScore() and snapshot() copy
+ * all n entries under it, topK(k) copies k. Code that reads the whole
+ * board often while scores are being set should take one snapshot()
+ * and query that rather than reading this board repeatedly.
+ */
+public class ConcurrentScoreBoard {
+
+    // number of locks that setters of different names are spread over
+    private static final int STRIPES = 64;
+
+    // mapping of names to score values, ordered by name
+    private final ConcurrentSkipListMap<String, Integer> scores =
+            new ConcurrentSkipListMap<>();
+    // entries ordered by score then name
+    private final ConcurrentSkipListSet<ScoreEntry> byScore =
+            new ConcurrentSkipListSet<>(ScoreIndex.ORDER);
+    // locks keeping both orderings in step for names sharing a stripe
+    private final Object[] stripes = new Object[STRIPES];
+    // held shared by setters and exclusively by point in time reads
+    private final ReentrantReadWriteLock snapshotLock =
+            new ReentrantReadWriteLock();
+    // current overall score
+    private final AtomicInteger currentScore = new AtomicInteger();
+    // number of scores that have been set
+    private final LongAdder updates = new LongAdder();
+
+    /**
+     * Creates a score board that has no entries and a current score
+     * of 0.
+     */
+    public ConcurrentScoreBoard() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Sets the score for the given name if the name is a valid score name
+     * and the score is equal to or greater than zero, overriding any
+     * score stored for the name. Safe to call from any thread. Waits
+     * while a point in time read copies the entries, or while a name on
+     * the same stripe is being set.
+     *
+     * @param name  of scorer.
+     * @param score to set to the given name.
+     * @see ScoreBoard#setScore(String, int)
+     */
+    public void setScore(String name, int score) {
+        if (!ScoreBoard.validEntry(name, score)) {
+            return;
+        }
+        Lock shared = snapshotLock.readLock();
+        shared.lock();
+        try {
+            synchronized (stripes[(name.hashCode() & 0x7FFFFFFF) % STRIPES]) {
+                Integer old = scores.put(name, score);
+                if (old != null) {
+                    byScore.remove(new ScoreEntry(name, old));
+                }
+                byScore.add(new ScoreEntry(name, score));
+            }
+        } finally {
+            shared.unlock();
+        }
+        updates.increment();
+    }
+
+    /**
+     * Sets a collection of scores if "scores" is not null, skipping null
+     * scores and any invalid score as setScore does.
+     *
+     * @param scores to add.
+     * @see ScoreBoard#setScores(Map)
+     */
+    public void setScores(Map<String, Integer> scores) {
+        if (scores != null) {
+            for (Map.Entry<String, Integer> score : scores.entrySet()) {
+                if (score.getValue() != null) {
+                    setScore(score.getKey(), score.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the stored entries ordered by name, as they were at a single
+     * point in time. Setters wait while every entry is copied.
+     *
+     * @return List of scores formatted as "NAME : VALUE".
+     * @see ScoreBoard#getEntriesByName()
+     */
+    public List<String> getEntriesByName() {
+        List<String> entries = new ArrayList<>();
+        for (ScoreEntry entry : copy(false)) {
+            entries.add(entry.toString());
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the stored entries ordered by score in descending order then
+     * by name, as they were at a single point in time. Setters wait while
+     * every entry is copied.
+     *
+     * @return List of scores formatted as "NAME : VALUE".
+     * @see ScoreBoard#getEntriesByScore()
+     */
+    public List<String> getEntriesByScore() {
+        List<String> entries = new ArrayList<>();
+        for (ScoreEntry entry : copy(true)) {
+            entries.add(entry.toString());
+        }
+        return entries;
+    }
+
+    /**
+     * Gets the k highest entries, as they were at a single point in time.
+     * Setters wait while the k entries are copied.
+     *
+     * @param k number of entries to get.
+     * @return the first k entries ordered by score, or every entry if
+     * there are fewer than k.
+     */
+    public List<ScoreEntry> topK(int k) {
+        List<ScoreEntry> entries = new ArrayList<>();
+        Lock exclusive = snapshotLock.writeLock();
+        exclusive.lock();
+        try {
+            Iterator<ScoreEntry> iterator = byScore.iterator();
+            while (entries.size() < k && iterator.hasNext()) {
+                entries.add(iterator.next());
+            }
+        } finally {
+            exclusive.unlock();
+        }
+        return entries;
+    }
+
+    /**
+     * Copies the entries and current score, as they were at a single
+     * point in time, into a new ScoreBoard. The copy supports the ranked
+     * queries of ScoreBoard and is not changed by later scores. Setters
+     * wait while every entry is copied, but not while the copy is built.
+     *
+     * @return a new ScoreBoard holding the same entries and score.
+     */
+    public ScoreBoard snapshot() {
+        List<ScoreEntry> entries;
+        int score;
+        // read the score while the entries cannot change, the write lock
+        // is reentrant so copy can take it again
+        Lock exclusive = snapshotLock.writeLock();
+        exclusive.lock();
+        try {
+            entries = copy(false);
+            score = currentScore.get();
+        } finally {
+            exclusive.unlock();
+        }
+        ScoreBoard board = new ScoreBoard();
+        for (ScoreEntry entry : entries) {
+            board.setScore(entry.getName(), entry.getScore());
+        }
+        board.increaseScore(score);
+        return board;
+    }
+
+    /**
+     * Gets the number of scores that have been set, including scores
+     * that overrode an earlier score for the same name.
+     *
+     * @return number of successful setScore calls.
+     */
+    public long getUpdateCount() {
+        return updates.sum();
+    }
+
+    /**
+     * Increases the score if the given additional is greater than 0.
+     * Safe to call from any thread.
+     *
+     * @param additional score to add.
+     * @see ScoreBoard#increaseScore(int)
+     */
+    public void increaseScore(int additional) {
+        currentScore.accumulateAndGet(additional,
+                (current, add) -> Integer.max(current, current + add));
+    }
+
+    /**
+     * Get the current score.
+     *
+     * @return the current score.
+     */
+    public int getScore() {
+        return currentScore.get();
+    }
+
+    /**
+     * Set the current score to 0.
+     */
+    public void reset() {
+        currentScore.set(0);
+    }
+
+    /*
+     * Copies every entry, ordered by score or by name, holding off every
+     * setter until the copy is done.
+     */
+    private List<ScoreEntry> copy(boolean orderByScore) {
+        List<ScoreEntry> entries = new ArrayList<>();
+        Lock exclusive = snapshotLock.writeLock();
+        exclusive.lock();
+        try {
+            if (orderByScore) {
+                entries.addAll(byScore);
+            } else {
+                for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+                    entries.add(new ScoreEntry(entry.getKey(),
+                            entry.getValue()));
+                }
+            }
+        } finally {
+            exclusive.unlock();
+        }
+        return entries;
+    }
+}
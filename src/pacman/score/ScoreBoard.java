@@ -1,9 +1,17 @@
 package pacman.score;
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * ScoreBoard contains previous scores and the current score of the
@@ -22,12 +30,18 @@ import java.util.Map;
  *
  * The value is a integer that is equal to or greater than 0.
  *
+ * The entries are kept ordered both by name and by score, so ordered
+ * entries, the top scores and the rank of a name can be read without
+ * sorting.
+ *
  * @ass1
  */
 public class ScoreBoard {
     
-    // mapping of names to score values
-    private HashMap<String, Integer> scores;
+    // mapping of names to score values, ordered by name
+    private TreeMap<String, Integer> scores;
+    // entries ordered by score then name
+    private ScoreIndex byScore;
     // current overall score
     private int currentScore;
 
@@ -38,7 +52,8 @@ public class ScoreBoard {
      * @ass1
      */
     public ScoreBoard() {
-        this.scores = new HashMap<>();
+        this.scores = new TreeMap<>();
+        this.byScore = new ScoreIndex();
         this.currentScore = 0;
     }
 
@@ -75,18 +90,22 @@ public class ScoreBoard {
      * @ass1
      */
     public List<String> getEntriesByName() {
-        var items = new ArrayList<>(scores.entrySet());
-        items.sort((o1, o2) -> {
-            return o1.getKey().compareTo(o2.getKey());
-        });
-
-        var scores = new ArrayList<String>();
-        for (var entry : items) {
-            scores.add(String.format("%s : %d", entry.getKey(),
-                    entry.getValue()));
+        var entries = new ArrayList<String>(scores.size());
+        for (var entry : scores.entrySet()) {
+            entries.add(entry.getKey() + " : " + entry.getValue());
         }
+        return entries;
+    }
 
-        return scores;
+    /**
+     * Gets the stored entries as a mapping of names to score values,
+     * iterated in lexicographic order of the name like
+     * {@link #getEntriesByName()} but without formatting each entry.
+     *
+     * @return an unmodifiable view of the stored entries.
+     */
+    public Map<String, Integer> getEntries() {
+        return Collections.unmodifiableSortedMap(scores);
     }
 
     /**
@@ -124,25 +143,49 @@ public class ScoreBoard {
      * @ass1
      */
     public List<String> getEntriesByScore() {
-        var items = new ArrayList<>(scores.entrySet());
-        items.sort((o1, o2) -> {
-            var valCompare = o2.getValue().compareTo(o1.getValue());
+        var entries = new ArrayList<String>(scores.size());
+        for (ScoreEntry entry : byScore.range(0, scores.size())) {
+            entries.add(entry.toString());
+        }
+        return entries;
+    }
 
-            // Compare by name is score is the same
-            if (valCompare == 0) {
-                return o1.getKey().compareTo(o2.getKey());
-            }
+    /**
+     * Gets the k highest entries in the order of getEntriesByScore().
+     *
+     * @param k number of entries to get.
+     * @return the first k entries ordered by score, or every entry if
+     * there are fewer than k.
+     */
+    public List<ScoreEntry> topK(int k) {
+        return byScore.range(0, k);
+    }
 
-            return valCompare;
-        });
+    /**
+     * Gets a page of the entries in the order of getEntriesByScore().
+     *
+     * @param from  index of the first entry, from 0.
+     * @param count most entries to get.
+     * @return the entries from index "from" up to "from + count", fewer
+     * if the entries end first.
+     */
+    public List<ScoreEntry> range(int from, int count) {
+        return byScore.range(from, count);
+    }
 
-        var scores = new ArrayList<String>();
-        for (var entry : items) {
-            scores.add(String.format("%s : %s", entry.getKey(),
-                    entry.getValue()));
+    /**
+     * Gets the rank of a name, its index in getEntriesByScore().
+     *
+     * @param name of scorer.
+     * @return the number of entries ordered before the name's entry, or
+     * -1 if there is no entry for the name.
+     */
+    public int rankOf(String name) {
+        Integer score = name == null ? null : scores.get(name);
+        if (score == null) {
+            return -1;
         }
-
-        return scores;
+        return byScore.rankOf(new ScoreEntry(name, score));
     }
 
     /**
@@ -162,8 +205,12 @@ public class ScoreBoard {
      * @ass1
      */
     public void setScore(String name, int score) {
-        if (name != null && !name.isBlank() && validName(name) && score > -1) {
-            this.scores.put(name, score);
+        if (validEntry(name, score)) {
+            Integer old = this.scores.put(name, score);
+            if (old != null) {
+                byScore.remove(new ScoreEntry(name, old));
+            }
+            byScore.add(new ScoreEntry(name, score));
         }
     }
 
@@ -176,23 +223,167 @@ public class ScoreBoard {
      * <ul>
      *     <li>name is not null</li>
      *     <li>name is a valid score name</li>
+     *     <li>score is not null</li>
      *     <li>score is equal to or greater than zero.</li>
      * </ul>
      *
      * the score will be set and override any stored score for the given
      * name, otherwise it will be skipped.
      *
+     * Setting scores on an empty score board builds both orderings of the
+     * entries at once rather than one entry at a time.
+     *
      * @param scores to add.
      * @ass1
      */
     public void setScores(Map<String, Integer> scores) {
-        if (scores != null) {
-            for (var score : scores.entrySet()) {
+        if (scores == null) {
+            return;
+        }
+        if (this.scores.isEmpty()) {
+            load(scores);
+            return;
+        }
+        for (var score : scores.entrySet()) {
+            if (score.getValue() != null) {
                 this.setScore(score.getKey(), score.getValue());
             }
         }
     }
 
+    /**
+     * Sets every score given by an iterator, in order, as if setScore was
+     * called for each. Later entries override earlier entries for the
+     * same name, and null or invalid entries are skipped.
+     *
+     * Importing into an empty score board builds both orderings of the
+     * entries at once rather than one entry at a time.
+     *
+     * @param entries to add.
+     */
+    public void addAll(Iterator<ScoreEntry> entries) {
+        if (entries == null) {
+            return;
+        }
+        if (!this.scores.isEmpty()) {
+            while (entries.hasNext()) {
+                ScoreEntry entry = entries.next();
+                if (entry != null) {
+                    setScore(entry.getName(), entry.getScore());
+                }
+            }
+            return;
+        }
+        // keep the last valid score of each name
+        var latest = new HashMap<String, Integer>();
+        while (entries.hasNext()) {
+            ScoreEntry entry = entries.next();
+            if (entry != null && validEntry(entry.getName(),
+                    entry.getScore())) {
+                latest.put(entry.getName(), entry.getScore());
+            }
+        }
+        load(latest);
+    }
+
+    /*
+     * Sets the valid scores of a map on this empty score board.
+     */
+    private void load(Map<String, Integer> scores) {
+        var valid = new ArrayList<ScoreEntry>(scores.size());
+        for (var score : scores.entrySet()) {
+            Integer value = score.getValue();
+            if (value != null && validEntry(score.getKey(), value)) {
+                valid.add(new ScoreEntry(score.getKey(), value));
+            }
+        }
+        // the entries of a map sorted by name need no sorting
+        boolean byName = scores instanceof SortedMap
+                && ((SortedMap<String, Integer>) scores).comparator() == null;
+        if (!byName) {
+            valid.sort(Comparator.comparing(ScoreEntry::getName));
+        }
+        // a TreeMap copies a sorted map in linear time, without a put
+        // and rebalance for each entry
+        this.scores = new TreeMap<>(new SortedEntries(valid));
+        valid.sort(ScoreIndex.ORDER);
+        byScore = ScoreIndex.of(valid);
+    }
+
+    /*
+     * A list of entries sorted by name seen as a sorted map, with only
+     * what TreeMap needs to copy it.
+     */
+    private static final class SortedEntries
+            extends AbstractMap<String, Integer>
+            implements SortedMap<String, Integer> {
+
+        // distinct entries in name order
+        private final List<ScoreEntry> entries;
+
+        SortedEntries(List<ScoreEntry> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public Set<Map.Entry<String, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, Integer>> iterator() {
+                    Iterator<ScoreEntry> iterator = entries.iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return iterator.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, Integer> next() {
+                            ScoreEntry entry = iterator.next();
+                            return new SimpleImmutableEntry<>(
+                                    entry.getName(), entry.getScore());
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return entries.size();
+                }
+            };
+        }
+
+        @Override
+        public Comparator<? super String> comparator() {
+            return null;
+        }
+
+        @Override
+        public String firstKey() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String lastKey() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<String, Integer> subMap(String from, String to) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<String, Integer> headMap(String to) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public SortedMap<String, Integer> tailMap(String from) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     /**
      * Increases the score if the given additional is greater than 0.
      * No change to the current score if additional is less than or
@@ -224,13 +415,31 @@ public class ScoreBoard {
         currentScore = 0;
     }
 
+    /**
+     * Checks if a given name and score can be set, that is the name is
+     * not null and is a valid name and the score is not negative.
+     */
+    static boolean validEntry(String name, int score) {
+        return name != null && validName(name) && score > -1;
+    }
+
     /**
      * Checks if a given name is valid.
      * A valid name consists of only one or more alphanumeric characters.
      */
-    private boolean validName(String name) {
-        // regex checks string contains only alphanumericals, and at least 1.
-        return name.matches("[a-zA-Z0-9]+");
+    private static boolean validName(String name) {
+        int length = name.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if ((c < 'a' || c > 'z') && (c < 'A' || c > 'Z')
+                    && (c < '0' || c > '9')) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
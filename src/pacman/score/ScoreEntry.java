@@ -0,0 +1,78 @@
+package pacman.score;
+
+/**
+ * A single name and score value stored in a {@link ScoreBoard}.
+ */
+public class ScoreEntry {
+
+    // name of the scorer
+    private final String name;
+    // score value of the scorer
+    private final int score;
+
+    /**
+     * Creates an entry of a name and its score.
+     *
+     * @param name  of scorer.
+     * @param score of the scorer.
+     */
+    public ScoreEntry(String name, int score) {
+        this.name = name;
+        this.score = score;
+    }
+
+    /**
+     * Gets the name of the scorer.
+     *
+     * @return name of the entry.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the score of the scorer.
+     *
+     * @return score value of the entry.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Checks if another object instance is equal to this entry. Entries
+     * are equal if both their names and scores are equal.
+     *
+     * @param o other Object
+     * @return true if same, false otherwise.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof ScoreEntry)) {
+            return false;
+        }
+        ScoreEntry other = (ScoreEntry) o;
+        return score == other.score && name.equals(other.name);
+    }
+
+    /**
+     * For two objects that are equal the hash should also be equal.
+     *
+     * @return hash of the entry.
+     */
+    @Override
+    public int hashCode() {
+        return name.hashCode() * 31 + score;
+    }
+
+    /**
+     * Gets the entry formatted like the entries of
+     * {@link ScoreBoard#getEntriesByName()}.
+     *
+     * @return "NAME : VALUE"
+     */
+    @Override
+    public String toString() {
+        return name + " : " + score;
+    }
+}
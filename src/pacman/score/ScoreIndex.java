@@ -0,0 +1,293 @@
+package pacman.score;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An index of score entries ordered by score in descending order then by
+ * name in lexicographic order, the order of
+ * {@link ScoreBoard#getEntriesByScore()}.
+ *
+ * The index is an AVL tree in which every node also stores the size of
+ * its subtree, so adding and removing an entry, finding the rank of an
+ * entry and finding the entry at a rank all take O(log n) time.
+ */
+class ScoreIndex {
+
+    // order of the entries, by score descending then by name
+    static final Comparator<ScoreEntry> ORDER = ScoreIndex::compare;
+
+    /**
+     * A node of the tree.
+     */
+    private static final class Node {
+
+        // entry stored in this node
+        private final ScoreEntry entry;
+        // entries ordered before this node's entry
+        private Node left;
+        // entries ordered after this node's entry
+        private Node right;
+        // height of the subtree rooted at this node
+        private int height = 1;
+        // number of entries in the subtree rooted at this node
+        private int size = 1;
+
+        /*
+         * Creates a leaf holding an entry.
+         */
+        private Node(ScoreEntry entry) {
+            this.entry = entry;
+        }
+    }
+
+    // root of the tree, null if the index is empty
+    private Node root;
+
+    /**
+     * Creates an index of entries that are already in order, in time
+     * proportional to the number of entries.
+     *
+     * @param entries distinct entries sorted by {@link #ORDER}.
+     * @return a new index holding the entries.
+     */
+    static ScoreIndex of(List<ScoreEntry> entries) {
+        ScoreIndex index = new ScoreIndex();
+        index.root = build(entries, 0, entries.size());
+        return index;
+    }
+
+    /*
+     * Builds a balanced subtree of the sorted entries in [from, to).
+     */
+    private static Node build(List<ScoreEntry> entries, int from, int to) {
+        if (from >= to) {
+            return null;
+        }
+        int middle = (from + to) >>> 1;
+        Node node = new Node(entries.get(middle));
+        node.left = build(entries, from, middle);
+        node.right = build(entries, middle + 1, to);
+        update(node);
+        return node;
+    }
+
+    /**
+     * Gets the number of entries in the index.
+     *
+     * @return number of entries.
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an entry that is not already in the index.
+     *
+     * @param entry to add.
+     */
+    void add(ScoreEntry entry) {
+        root = add(root, entry);
+    }
+
+    /**
+     * Removes an entry from the index if it is in the index.
+     *
+     * @param entry to remove.
+     */
+    void remove(ScoreEntry entry) {
+        root = remove(root, entry);
+    }
+
+    /**
+     * Gets the rank of an entry, the number of entries ordered before it.
+     *
+     * @param entry to find.
+     * @return rank of the entry starting from 0, or -1 if it is not in
+     * the index.
+     */
+    int rankOf(ScoreEntry entry) {
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int compare = compare(entry, node.entry);
+            if (compare < 0) {
+                node = node.left;
+            } else if (compare > 0) {
+                rank += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the entries at the given ranks, in order.
+     *
+     * @param from  rank of the first entry, from 0.
+     * @param count most entries to get.
+     * @return the entries ranked from "from" up to "from + count", fewer
+     * if the index ends first.
+     */
+    List<ScoreEntry> range(int from, int count) {
+        from = Math.max(from, 0);
+        int to = (int) Math.min((long) from + Math.max(count, 0), size());
+        List<ScoreEntry> entries = new ArrayList<>(Math.max(to - from, 0));
+        collect(root, from, to, 0, entries);
+        return entries;
+    }
+
+    /*
+     * Adds the entries of a subtree whose first entry has the given rank
+     * and whose rank is within [from, to), in order.
+     */
+    private static void collect(Node node, int from, int to, int first,
+                                List<ScoreEntry> entries) {
+        if (node == null || first >= to || first + node.size <= from) {
+            return;
+        }
+        int rank = first + size(node.left);
+        collect(node.left, from, to, first, entries);
+        if (rank >= from && rank < to) {
+            entries.add(node.entry);
+        }
+        collect(node.right, from, to, rank + 1, entries);
+    }
+
+    /*
+     * Orders entries by score descending then by name.
+     */
+    private static int compare(ScoreEntry a, ScoreEntry b) {
+        int compare = Integer.compare(b.getScore(), a.getScore());
+        if (compare == 0) {
+            return a.getName().compareTo(b.getName());
+        }
+        return compare;
+    }
+
+    /*
+     * Gets the size of a subtree, 0 if it is empty.
+     */
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /*
+     * Gets the height of a subtree, 0 if it is empty.
+     */
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /*
+     * Recomputes the height and size of a node from its children.
+     */
+    private static void update(Node node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    /*
+     * Rotates a subtree right, returning its new root.
+     */
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    /*
+     * Rotates a subtree left, returning its new root.
+     */
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    /*
+     * Restores the AVL balance of a node whose children are balanced.
+     */
+    private static Node balance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /*
+     * Adds an entry to a subtree, returning its new root.
+     */
+    private static Node add(Node node, ScoreEntry entry) {
+        if (node == null) {
+            return new Node(entry);
+        }
+        if (compare(entry, node.entry) < 0) {
+            node.left = add(node.left, entry);
+        } else {
+            node.right = add(node.right, entry);
+        }
+        return balance(node);
+    }
+
+    /*
+     * Removes an entry from a subtree, returning its new root.
+     */
+    private static Node remove(Node node, ScoreEntry entry) {
+        if (node == null) {
+            return null;
+        }
+        int compare = compare(entry, node.entry);
+        if (compare < 0) {
+            node.left = remove(node.left, entry);
+        } else if (compare > 0) {
+            node.right = remove(node.right, entry);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            // replace the node with the first entry after it
+            Node next = node.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            Node replacement = new Node(next.entry);
+            replacement.right = removeFirst(node.right);
+            replacement.left = node.left;
+            return balance(replacement);
+        }
+        return balance(node);
+    }
+
+    /*
+     * Removes the first entry of a subtree, returning its new root.
+     */
+    private static Node removeFirst(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeFirst(node.left);
+        return balance(node);
+    }
+}
@@ -0,0 +1,536 @@
+package pacman.score;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * A leaderboard that is kept durable in an append-only log file, so that
+ * saving one new score does not rewrite a whole game save.
+ *
+ * Every score set through the log is appended to the log as a small
+ * record and then applied to an in-memory ScoreBoard. Opening a log
+ * replays its records to rebuild the ScoreBoard. Once the log holds many
+ * records that were overridden by later ones it is compacted on a
+ * background thread: rewritten with one record per name and swapped in
+ * place of the old log. Scores can still be set while the new log is
+ * written; they are copied over to it before the swap.
+ *
+ * Records are written through a buffer and forced to the disk once a
+ * batch of records has been written, and by the background thread at
+ * most the sync interval after they were written, even if no more
+ * scores are set. The newest records since the last sync can be lost if
+ * the machine fails; {@link #sync()} and {@link #close()} force every
+ * record to the disk. A record at the end of the log that was only
+ * partly written is detected by its checksum and dropped when the log is
+ * next opened. A damaged record followed by more records is not dropped:
+ * the log fails to open instead, so no later scores are lost.
+ *
+ * <h3>Log format</h3>
+ * The magic bytes "PMSL" and a version byte, followed by records of: a
+ * varint name length, the name in ASCII, a varint score and a big-endian
+ * CRC32 of the record's previous bytes. A varint is an unsigned LEB128
+ * integer as in {@link pacman.game.BinaryGameWriter}.
+ */
+public class ScoreLog implements Closeable {
+
+    // first bytes of every log
+    private static final byte[] MAGIC = {'P', 'M', 'S', 'L'};
+    // version of the format written
+    private static final int VERSION = 1;
+    // fewest records in a log before it is compacted
+    private static final int MIN_COMPACT = 4096;
+
+    // file holding the log
+    private final Path file;
+    // records to write before forcing them to the disk
+    private final int batchSize;
+    // most milliseconds between a write and forcing it to the disk
+    private final long syncMillis;
+    // background thread forcing records to the disk and compacting
+    private final ScheduledExecutorService background;
+    // held for the whole of a compaction, taken before this log's lock
+    private final Object compaction = new Object();
+    // scores replayed from the log and set since
+    private final ScoreBoard board = new ScoreBoard();
+    // buffer for encoding one record
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    // checksum of one record
+    private final CRC32 crc = new CRC32();
+    // file being appended to
+    private FileOutputStream stream;
+    // buffered output to the file
+    private OutputStream out;
+    // records in the log file
+    private long records;
+    // records written since the last sync
+    private int unsynced;
+    // whether a compaction has been handed to the background thread
+    private boolean compactQueued;
+    // whether the log has been closed
+    private boolean closed;
+    // the last error of the background thread, thrown by the next write
+    private IOException failure;
+
+    /**
+     * Opens a log, creating it if it does not exist, and rebuilds its
+     * scores. Records are forced to the disk every batchSize records or
+     * syncMillis milliseconds.
+     *
+     * @param file       - holding the log.
+     * @param batchSize  - records to write before forcing them to the
+     *                   disk, 1 to force every record.
+     * @param syncMillis - most milliseconds between writing a record and
+     *                   forcing it to the disk, 0 to force every record.
+     * @throws IOException - if the log could not be read or opened, is
+     * not a score log, or has a damaged record before its last record.
+     * @throws IllegalArgumentException - if batchSize is less than 1 or
+     * syncMillis is negative.
+     */
+    public ScoreLog(Path file, int batchSize, long syncMillis)
+            throws IOException {
+        if (batchSize < 1 || syncMillis < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.file = file;
+        this.batchSize = batchSize;
+        this.syncMillis = syncMillis;
+        if (Files.exists(file) && Files.size(file) > 0) {
+            long valid = replay();
+            if (valid < Files.size(file)) {
+                // drop a record that was only partly written
+                try (FileChannel channel = FileChannel.open(file,
+                        StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+            }
+            open(true);
+        } else {
+            open(false);
+        }
+        this.background = Executors.newSingleThreadScheduledExecutor(
+                task -> {
+                    Thread thread = new Thread(task, "ScoreLog " + file);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        if (syncMillis > 0) {
+            background.scheduleWithFixedDelay(this::syncLater, syncMillis,
+                    syncMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets a copy of the scores of the log, as they are now. Scores set
+     * on the copy do not change the log.
+     *
+     * @return a new ScoreBoard holding the logged scores.
+     */
+    public synchronized ScoreBoard getScoreBoard() {
+        ScoreBoard copy = new ScoreBoard();
+        copy.setScores(board.getEntries());
+        return copy;
+    }
+
+    /**
+     * Gets the number of records in the log file, including records
+     * overridden by later ones.
+     *
+     * @return records in the log.
+     */
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Sets the score for the given name, as ScoreBoard.setScore does,
+     * and appends it to the log if it is valid. The score is only set
+     * once its record has been written.
+     *
+     * @param name  of scorer.
+     * @param score to set to the given name.
+     * @throws IOException - if the record could not be written, the log
+     * is closed, or the background thread failed to sync or compact the
+     * log since the last write.
+     * @see ScoreBoard#setScore(String, int)
+     */
+    public synchronized void setScore(String name, int score)
+            throws IOException {
+        checkOpen();
+        checkFailure();
+        if (!ScoreBoard.validEntry(name, score)) {
+            return;
+        }
+        append(out, record, crc, name, score);
+        board.setScore(name, score);
+        records++;
+        unsynced++;
+        if (unsynced >= batchSize || syncMillis == 0) {
+            sync();
+        }
+        if (!compactQueued && records > Math.max(MIN_COMPACT,
+                2L * board.getEntries().size())) {
+            compactQueued = true;
+            background.execute(this::compactLater);
+        }
+    }
+
+    /**
+     * Sets a collection of scores, skipping null and invalid scores.
+     *
+     * @param scores to add.
+     * @throws IOException - if a record could not be written.
+     * @see ScoreBoard#setScores(Map)
+     */
+    public synchronized void setScores(Map<String, Integer> scores)
+            throws IOException {
+        if (scores != null) {
+            for (Map.Entry<String, Integer> score : scores.entrySet()) {
+                if (score.getValue() != null) {
+                    setScore(score.getKey(), score.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces every record written so far to the disk.
+     *
+     * @throws IOException - if the log could not be written or is
+     * closed.
+     */
+    public synchronized void sync() throws IOException {
+        checkOpen();
+        checkFailure();
+        force();
+    }
+
+    /**
+     * Rewrites the log with one record for each name and replaces the
+     * old log with it. The old log stays in place if this fails.
+     *
+     * The new log is written without holding the lock of this log, so
+     * scores may be set meanwhile. Their records are copied to the end of
+     * the new log just before it replaces the old one.
+     *
+     * @throws IOException - if the log could not be rewritten or is
+     * closed.
+     */
+    public void compact() throws IOException {
+        synchronized (compaction) {
+            Map<String, Integer> entries;
+            long offset;
+            long mark;
+            synchronized (this) {
+                checkOpen();
+                force();
+                entries = new TreeMap<>(board.getEntries());
+                offset = stream.getChannel().position();
+                mark = records;
+            }
+            Path compacted = file.resolveSibling(file.getFileName()
+                    + ".compact");
+            try (FileOutputStream output = new FileOutputStream(
+                    compacted.toFile())) {
+                OutputStream buffered = new BufferedOutputStream(output);
+                buffered.write(MAGIC);
+                buffered.write(VERSION);
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                CRC32 checksum = new CRC32();
+                for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+                    append(buffered, bytes, checksum, entry.getKey(),
+                            entry.getValue());
+                }
+                buffered.flush();
+            }
+            synchronized (this) {
+                force();
+                // carry over the records set while the new log was written
+                try (FileChannel source = FileChannel.open(file,
+                        StandardOpenOption.READ);
+                     FileChannel target = FileChannel.open(compacted,
+                             StandardOpenOption.WRITE,
+                             StandardOpenOption.APPEND)) {
+                    long end = source.size();
+                    for (long at = offset; at < end; ) {
+                        at += source.transferTo(at, end - at, target);
+                    }
+                    target.force(true);
+                }
+                out.close();
+                try {
+                    Files.move(compacted, file,
+                            StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                    records = entries.size() + records - mark;
+                } finally {
+                    open(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forces every record to the disk, stops the background thread and
+     * closes the log file. Waits for a running compaction to finish.
+     *
+     * @throws IOException - if the log could not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (compaction) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                background.shutdownNow();
+                try {
+                    checkFailure();
+                    force();
+                } finally {
+                    closed = true;
+                    out.close();
+                }
+            }
+        }
+    }
+
+    /*
+     * Forces the records written since the last sync to the disk, run
+     * periodically by the background thread.
+     */
+    private synchronized void syncLater() {
+        if (closed || unsynced == 0 || failure != null) {
+            return;
+        }
+        try {
+            sync();
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    /*
+     * Compacts the log on the background thread.
+     */
+    private void compactLater() {
+        try {
+            compact();
+        } catch (IOException e) {
+            synchronized (this) {
+                if (!closed) {
+                    failure = e;
+                }
+            }
+        } finally {
+            synchronized (this) {
+                compactQueued = false;
+            }
+        }
+    }
+
+    /*
+     * Writes out the buffered records and forces them to the disk.
+     */
+    private void force() throws IOException {
+        out.flush();
+        stream.getChannel().force(false);
+        unsynced = 0;
+    }
+
+    /*
+     * Throws if the log has been closed.
+     */
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Score log is closed: " + file);
+        }
+    }
+
+    /*
+     * Throws the last error of the background thread, once.
+     */
+    private void checkFailure() throws IOException {
+        IOException error = failure;
+        if (error != null) {
+            failure = null;
+            throw new IOException("Background write failed: " + file, error);
+        }
+    }
+
+    /*
+     * Opens the log file for appending, writing the header to a new log.
+     */
+    private void open(boolean exists) throws IOException {
+        stream = new FileOutputStream(file.toFile(), exists);
+        out = new BufferedOutputStream(stream);
+        if (!exists) {
+            out.write(MAGIC);
+            out.write(VERSION);
+        }
+        force();
+    }
+
+    /*
+     * Encodes a record with the given buffer and checksum and writes it
+     * to the given output.
+     */
+    private static void append(OutputStream output,
+                               ByteArrayOutputStream record, CRC32 crc,
+                               String name, int score) throws IOException {
+        record.reset();
+        writeVarint(record, name.length());
+        for (int i = 0; i < name.length(); i++) {
+            record.write(name.charAt(i));
+        }
+        writeVarint(record, score);
+        byte[] bytes = record.toByteArray();
+        crc.reset();
+        crc.update(bytes, 0, bytes.length);
+        int checksum = (int) crc.getValue();
+        output.write(bytes);
+        output.write(checksum >>> 24);
+        output.write(checksum >>> 16);
+        output.write(checksum >>> 8);
+        output.write(checksum);
+    }
+
+    /*
+     * Replays the records of the log into the score board, returning the
+     * length of the log up to the end of its last whole record. A record
+     * that is incomplete or damaged must be the end of the log: only
+     * zero bytes, as left by a torn write, may follow it.
+     */
+    private long replay() throws IOException {
+        List<ScoreEntry> entries = new ArrayList<>();
+        long valid;
+        try (InputStream stream = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(
+                     new BufferedInputStream(stream))) {
+            for (byte magic : MAGIC) {
+                if (in.read() != (magic & 0xFF)) {
+                    throw new IOException("Not a score log: " + file);
+                }
+            }
+            if (in.read() != VERSION) {
+                throw new IOException("Unsupported score log: " + file);
+            }
+            valid = MAGIC.length + 1;
+            while (true) {
+                record.reset();
+                ScoreEntry entry = readRecord(in);
+                if (entry == null) {
+                    if (!zeros(in)) {
+                        throw new IOException("Damaged score log at byte "
+                                + valid + ": " + file);
+                    }
+                    break;
+                }
+                entries.add(entry);
+                valid += record.size() + Integer.BYTES;
+            }
+        }
+        board.addAll(entries.iterator());
+        records = entries.size();
+        return valid;
+    }
+
+    /*
+     * Reads the next record, copying its bytes before the checksum into
+     * the record buffer. Returns null at the end of the log or at a
+     * record that is incomplete or damaged.
+     */
+    private ScoreEntry readRecord(DataInputStream in) throws IOException {
+        try {
+            int length = readVarint(in);
+            if (length < 1) {
+                return null;
+            }
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < length; i++) {
+                int b = in.readUnsignedByte();
+                // stop at a damaged length rather than read on as a name
+                if ((b < 'a' || b > 'z') && (b < 'A' || b > 'Z')
+                        && (b < '0' || b > '9')) {
+                    return null;
+                }
+                name.append((char) b);
+                record.write(b);
+            }
+            int score = readVarint(in);
+            int checksum = in.readInt();
+            byte[] bytes = record.toByteArray();
+            crc.reset();
+            crc.update(bytes, 0, bytes.length);
+            String text = name.toString();
+            if (score < 0 || checksum != (int) crc.getValue()
+                    || !ScoreBoard.validEntry(text, score)) {
+                return null;
+            }
+            return new ScoreEntry(text, score);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /*
+     * Checks if every byte left in the log is zero.
+     */
+    private static boolean zeros(DataInputStream in) throws IOException {
+        int b;
+        while ((b = in.read()) == 0) {
+            continue;
+        }
+        return b < 0;
+    }
+
+    /*
+     * Reads an unsigned LEB128 varint into the record buffer, returning
+     * -1 if it does not fit a non-negative int.
+     */
+    private int readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            int b = in.readUnsignedByte();
+            record.write(b);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value > Integer.MAX_VALUE ? -1 : (int) value;
+            }
+        }
+        return -1;
+    }
+
+    /*
+     * Writes a non-negative integer as an unsigned LEB128 varint.
+     */
+    private static void writeVarint(OutputStream out, int value)
+            throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+}
@@ -0,0 +1,21 @@
+package pacman.sim;
+
+import pacman.game.PacmanGame;
+import pacman.util.Direction;
+
+/**
+ * Decides which way the hunter should face before each tick of a
+ * simulated game, taking the place of a player.
+ */
+public interface InputPolicy {
+
+    /**
+     * Chooses the direction for the hunter to face for the next tick.
+     * The policy may also change the game directly, for example to
+     * activate the hunter's special.
+     *
+     * @param game - the game about to be ticked.
+     * @return the direction to face, or null to keep facing the same way.
+     */
+    Direction nextDirection(PacmanGame game);
+}
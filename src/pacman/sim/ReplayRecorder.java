@@ -0,0 +1,194 @@
+package pacman.sim;
+
+import pacman.game.GameWriter;
+import pacman.game.PacmanGame;
+import pacman.hunter.Hunter;
+import pacman.util.Direction;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * Records a session of a PacmanGame so that it can be replayed by the
+ * {@link ReplayRunner}.
+ *
+ * A game only changes through tick() and the inputs given to it between
+ * ticks, so a session is stored as the starting save of the game plus
+ * the inputs before every tick. Inputs made while recording must go
+ * through this recorder rather than straight to the game.
+ *
+ * <h3>Replay format</h3>
+ * A "[Replay]" block of assignments followed by one blank line and the
+ * starting game in the {@link GameWriter} format:
+ * <pre>
+ * [Replay]
+ * tick = 4
+ * ticks = 25
+ * hash = 5f0e8c21d4a3b697
+ * score = 1230
+ * inputs = 10L 3U!20 12U~
+ *
+ * [Board]
+ * ...
+ * </pre>
+ * tick is the starting tick of the game, ticks the number of ticks
+ * recorded and hash the {@link PacmanGame#stateHash()} in hexadecimal
+ * and score the current score after the last tick. The state hash
+ * leaves out the score, so both are recorded. inputs is a space
+ * separated list of runs. Each run is a number of ticks followed by the
+ * first letter of the direction the hunter faced for those ticks. A run
+ * may be followed by "!duration" if the hunter's special was activated
+ * and then "~" if the ghosts were made frightened; both happen before
+ * the run's first tick.
+ */
+public class ReplayRecorder {
+
+    // game being recorded
+    private final PacmanGame game;
+    // save of the game before the first tick
+    private final String start;
+    // tick of the game before the first tick
+    private final int startTick;
+    // finished runs of inputs
+    private final StringBuilder inputs = new StringBuilder();
+    // number of ticks recorded
+    private long ticks;
+    // direction of the current run, null before the first tick
+    private Direction direction;
+    // length of the current run
+    private long runLength;
+    // special duration activated before the current run, 0 if none
+    private int runSpecial;
+    // whether the ghosts were made frightened before the current run
+    private boolean runFrightened;
+    // special duration activated before the next tick, 0 if none
+    private int special;
+    // whether the ghosts were made frightened before the next tick
+    private boolean frightened;
+
+    /**
+     * Starts recording a game from its current state.
+     *
+     * @param game - to record.
+     * @throws IOException - if the game could not be saved.
+     * @throws IllegalArgumentException - if the game has a GhostSwarm,
+     * which saves do not hold.
+     */
+    public ReplayRecorder(PacmanGame game) throws IOException {
+        if (game.getGhostSwarm() != null) {
+            throw new IllegalArgumentException();
+        }
+        StringWriter save = new StringWriter();
+        GameWriter.write(save, game);
+        this.game = game;
+        this.start = save.toString();
+        this.startTick = game.getTick();
+    }
+
+    /**
+     * Gets the game being recorded.
+     *
+     * @return a mutable reference to the game.
+     */
+    public PacmanGame getGame() {
+        return game;
+    }
+
+    /**
+     * Activates the hunter's special and records it if it took effect.
+     *
+     * @param duration - to activate the special for.
+     * @see Hunter#activateSpecial(int)
+     */
+    public void activateSpecial(int duration) {
+        Hunter hunter = game.getHunter();
+        int before = hunter.getSpecialDurationRemaining();
+        hunter.activateSpecial(duration);
+        if (hunter.getSpecialDurationRemaining() != before) {
+            special = duration;
+        }
+    }
+
+    /**
+     * Makes the ghosts frightened and records it.
+     *
+     * @see PacmanGame#setGhostsFrightened()
+     */
+    public void setGhostsFrightened() {
+        game.setGhostsFrightened();
+        frightened = true;
+    }
+
+    /**
+     * Records the direction the hunter is facing then ticks the game.
+     *
+     * @throws IllegalStateException - if a GhostSwarm was set on the game
+     * since recording started.
+     */
+    public void tick() {
+        if (game.getGhostSwarm() != null) {
+            throw new IllegalStateException();
+        }
+        Direction facing = game.getHunter().getDirection();
+        if (facing != direction || special != 0 || frightened) {
+            appendRun(inputs);
+            direction = facing;
+            runLength = 0;
+            runSpecial = special;
+            runFrightened = frightened;
+            special = 0;
+            frightened = false;
+        }
+        runLength++;
+        ticks++;
+        game.tick();
+    }
+
+    /**
+     * Gets the number of ticks recorded so far.
+     *
+     * @return ticks recorded.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Writes the replay of the ticks recorded so far. Recording can
+     * carry on afterwards. The writer is not closed.
+     *
+     * @param writer - to output the replay to.
+     * @throws IOException - during an issue with writing.
+     */
+    public void write(Writer writer) throws IOException {
+        String sepa = System.lineSeparator();
+        writer.write("[Replay]" + sepa);
+        writer.write("tick = " + startTick + sepa);
+        writer.write("ticks = " + ticks + sepa);
+        writer.write("hash = " + Long.toHexString(game.stateHash()) + sepa);
+        writer.write("score = " + game.getScores().getScore() + sepa);
+        StringBuilder runs = new StringBuilder(inputs);
+        appendRun(runs);
+        writer.write("inputs =" + runs + sepa);
+        writer.write(sepa);
+        writer.write(start);
+        writer.flush();
+    }
+
+    /*
+     * Appends the current run, if there is one, to the given runs.
+     */
+    private void appendRun(StringBuilder runs) {
+        if (runLength == 0) {
+            return;
+        }
+        runs.append(' ').append(runLength).append(direction.name().charAt(0));
+        if (runSpecial != 0) {
+            runs.append('!').append(runSpecial);
+        }
+        if (runFrightened) {
+            runs.append('~');
+        }
+    }
+}
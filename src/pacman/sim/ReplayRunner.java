@@ -0,0 +1,205 @@
+package pacman.sim;
+
+import pacman.game.GameReader;
+import pacman.game.PacmanGame;
+import pacman.hunter.Hunter;
+import pacman.util.Direction;
+import pacman.util.UnpackableException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Re-simulates a replay written by a {@link ReplayRecorder} as fast as
+ * possible, without rendering.
+ *
+ * See {@link ReplayRecorder} for the replay format.
+ */
+public class ReplayRunner {
+
+    // starting game of the replay
+    private final PacmanGame game;
+    // recorded runs of inputs
+    private final String[] runs;
+    // number of ticks recorded
+    private final long ticks;
+    // state hash recorded after the last tick
+    private final long hash;
+    // score recorded after the last tick
+    private final int score;
+
+    /*
+     * Creates a runner for a parsed replay.
+     */
+    private ReplayRunner(PacmanGame game, String[] runs, long ticks,
+                         long hash, int score) {
+        this.game = game;
+        this.runs = runs;
+        this.ticks = ticks;
+        this.hash = hash;
+        this.score = score;
+    }
+
+    /**
+     * Reads a replay and its starting game.
+     *
+     * @param reader - to read the replay from.
+     * @return a runner holding the replay's starting game.
+     * @throws UnpackableException - when the replay is invalid.
+     * @throws IOException - when unable to read from the reader.
+     */
+    public static ReplayRunner read(Reader reader)
+            throws UnpackableException, IOException {
+        BufferedReader in = new BufferedReader(reader);
+        if (!"[Replay]".equals(in.readLine())) {
+            throw new UnpackableException();
+        }
+        try {
+            int tick = Integer.parseInt(value(in.readLine(), "tick"));
+            long ticks = Long.parseLong(value(in.readLine(), "ticks"));
+            long hash = Long.parseUnsignedLong(value(in.readLine(), "hash"),
+                    16);
+            int score = Integer.parseInt(value(in.readLine(), "score"));
+            String inputs = value(in.readLine(), "inputs").trim();
+            if (!"".equals(in.readLine())) {
+                throw new UnpackableException();
+            }
+
+            StringBuilder save = new StringBuilder();
+            String sepa = System.lineSeparator();
+            String line;
+            while ((line = in.readLine()) != null) {
+                save.append(line).append(sepa);
+            }
+            PacmanGame game = GameReader.read(
+                    new StringReader(save.toString()));
+            game.setTick(tick);
+            String[] runs = inputs.isEmpty() ? new String[0]
+                    : inputs.split(" +");
+            return new ReplayRunner(game, runs, ticks, hash, score);
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new UnpackableException(e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a replay then re-simulates every recorded tick.
+     *
+     * @param reader - to read the replay from.
+     * @return the game in its state after the last recorded tick.
+     * @throws UnpackableException - when the replay is invalid.
+     * @throws IOException - when unable to read from the reader.
+     */
+    public static PacmanGame run(Reader reader)
+            throws UnpackableException, IOException {
+        ReplayRunner runner = read(reader);
+        runner.run();
+        return runner.getGame();
+    }
+
+    /**
+     * Gets the game being replayed.
+     *
+     * @return a mutable reference to the game.
+     */
+    public PacmanGame getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the number of ticks in the replay.
+     *
+     * @return ticks recorded.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Re-simulates every recorded tick on the game.
+     *
+     * @throws UnpackableException - when the recorded inputs are invalid
+     * or do not add up to the recorded number of ticks.
+     */
+    public void run() throws UnpackableException {
+        Hunter hunter = game.getHunter();
+        long played = 0;
+        for (String run : runs) {
+            int end = 0;
+            while (end < run.length() && Character.isDigit(run.charAt(end))) {
+                end++;
+            }
+            if (end == 0 || end == run.length()) {
+                throw new UnpackableException();
+            }
+            long length = Long.parseLong(run.substring(0, end));
+            Direction direction = direction(run.charAt(end));
+
+            // events happen before the first tick of the run
+            String events = run.substring(end + 1);
+            if (events.endsWith("~")) {
+                events = events.substring(0, events.length() - 1);
+                game.setGhostsFrightened();
+            }
+            if (events.startsWith("!")) {
+                try {
+                    hunter.activateSpecial(
+                            Integer.parseInt(events.substring(1)));
+                } catch (NumberFormatException e) {
+                    throw new UnpackableException();
+                }
+            } else if (!events.isEmpty()) {
+                throw new UnpackableException();
+            }
+
+            for (long i = 0; i < length; i++) {
+                hunter.setDirection(direction);
+                game.tick();
+            }
+            played += length;
+        }
+        if (played != ticks) {
+            throw new UnpackableException();
+        }
+    }
+
+    /**
+     * Checks whether the game matches the state recorded at the end of
+     * the replay. Call after {@link #run()} to check that a replay still
+     * plays out the same way.
+     *
+     * @return true if the game's state hash and score equal the
+     * recorded hash and score.
+     */
+    public boolean matchesRecording() {
+        return game.stateHash() == hash
+                && game.getScores().getScore() == score;
+    }
+
+    /*
+     * Gets the value of a "key = value" line with the given key.
+     */
+    private static String value(String line, String key)
+            throws UnpackableException {
+        String prefix = key + " =";
+        if (line == null || !line.startsWith(prefix)) {
+            throw new UnpackableException();
+        }
+        return line.substring(prefix.length()).trim();
+    }
+
+    /*
+     * Gets the direction with the given first letter.
+     */
+    private static Direction direction(char letter)
+            throws UnpackableException {
+        for (Direction direction : Direction.values()) {
+            if (direction.name().charAt(0) == letter) {
+                return direction;
+            }
+        }
+        throw new UnpackableException();
+    }
+}
@@ -0,0 +1,150 @@
+package pacman.sim;
+
+import pacman.board.PacmanBoard;
+import pacman.game.PacmanGame;
+import pacman.hunter.Hunter;
+import pacman.hunter.HunterType;
+import pacman.util.Direction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * Runs many independent PacmanGames without any rendering, spreading the
+ * games over the threads of a ForkJoinPool.
+ *
+ * Every game plays on its own deep copy of the board with its own hunter
+ * and input policy, so games share no mutable state. A game ends when
+ * the hunter runs out of lives or the tick limit is reached.
+ */
+public class SimulationEngine {
+
+    // board every game starts from, never modified
+    private final PacmanBoard board;
+    // type of hunter played in every game
+    private final HunterType hunterType;
+    // creates the input policy of each game
+    private final Supplier<InputPolicy> policies;
+    // most ticks a single game is played for
+    private final long maxTicks;
+
+    /**
+     * Creates an engine that plays games on copies of the given board.
+     *
+     * @param board - to copy for each game, must contain a spawn point
+     *              for ghosts and for the hunter.
+     * @param hunterType - of the hunter in each game.
+     * @param policies - called once per game, in game order, to create
+     *                 the input policy for that game.
+     * @param maxTicks - most ticks a single game is played for.
+     * @throws NullPointerException if board, hunterType or policies is
+     * null.
+     * @throws IllegalArgumentException if maxTicks is less than zero.
+     */
+    public SimulationEngine(PacmanBoard board, HunterType hunterType,
+                            Supplier<InputPolicy> policies, long maxTicks)
+            throws NullPointerException, IllegalArgumentException {
+        if (board == null || hunterType == null || policies == null) {
+            throw new NullPointerException();
+        }
+        if (maxTicks < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.board = new PacmanBoard(board);
+        this.hunterType = hunterType;
+        this.policies = policies;
+        this.maxTicks = maxTicks;
+    }
+
+    /**
+     * Runs a batch of games on the common ForkJoinPool.
+     *
+     * @param games - number of games to play.
+     * @return the result of every game and the batch throughput.
+     * @see #run(int, ForkJoinPool)
+     */
+    public SimulationReport run(int games) {
+        return run(games, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Runs a batch of games on the given pool and waits for all of them
+     * to finish.
+     *
+     * @param games - number of games to play.
+     * @param pool - to run the games on.
+     * @return the result of every game and the batch throughput.
+     * @throws IllegalArgumentException if games is less than zero.
+     * @throws IllegalStateException if waiting for the games is
+     * interrupted.
+     */
+    public SimulationReport run(int games, ForkJoinPool pool)
+            throws IllegalArgumentException, IllegalStateException {
+        if (games < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        // games are set up in order so policies can be seeded per game
+        List<Callable<SimulationResult>> tasks = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            PacmanGame game = newGame();
+            InputPolicy policy = policies.get();
+            int index = i;
+            tasks.add(() -> play(index, game, policy));
+        }
+
+        long start = System.nanoTime();
+        List<SimulationResult> results = new ArrayList<>(games);
+        try {
+            for (Future<SimulationResult> future : pool.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return new SimulationReport(results, System.nanoTime() - start);
+    }
+
+    /**
+     * Creates a game in its starting state on a copy of the board.
+     *
+     * @return a reset game with the hunter and ghosts at their spawns.
+     */
+    public PacmanGame newGame() {
+        Hunter hunter = hunterType.newHunter();
+        PacmanGame game = new PacmanGame("simulation", "simulation", hunter,
+                new PacmanBoard(board));
+        game.reset();
+        return game;
+    }
+
+    /*
+     * Plays a game until it is lost or the tick limit is reached.
+     */
+    private SimulationResult play(int index, PacmanGame game,
+                                  InputPolicy policy) {
+        long ticks = 0;
+        while (game.getLives() > 0 && ticks < maxTicks) {
+            Direction direction = policy.nextDirection(game);
+            if (direction != null) {
+                game.getHunter().setDirection(direction);
+            }
+            game.tick();
+            ticks++;
+        }
+        return new SimulationResult(index, game.getScores().getScore(),
+                game.getLevel(), game.getLives(), ticks);
+    }
+}
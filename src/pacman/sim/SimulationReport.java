@@ -0,0 +1,67 @@
+package pacman.sim;
+
+import java.util.List;
+
+/**
+ * The results of a batch of games run by a {@link SimulationEngine} along
+ * with how long the batch took.
+ */
+public class SimulationReport {
+
+    // results in game order
+    private final List<SimulationResult> results;
+    // wall clock time taken by the batch
+    private final long elapsedNanos;
+
+    /**
+     * Creates a report of a finished batch.
+     *
+     * @param results - of each game in game order.
+     * @param elapsedNanos - wall clock time the batch took.
+     */
+    public SimulationReport(List<SimulationResult> results,
+                            long elapsedNanos) {
+        this.results = List.copyOf(results);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the result of each game.
+     *
+     * @return an unmodifiable list of results in game order.
+     */
+    public List<SimulationResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Gets the wall clock time the batch took.
+     *
+     * @return elapsed time in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the number of ticks played over all games.
+     *
+     * @return total ticks.
+     */
+    public long getTotalTicks() {
+        long total = 0;
+        for (SimulationResult result : results) {
+            total += result.getTicks();
+        }
+        return total;
+    }
+
+    /**
+     * Gets the aggregate throughput of the batch.
+     *
+     * @return total ticks played per second of wall clock time.
+     */
+    public double getTicksPerSecond() {
+        return getTotalTicks() * 1e9 / Math.max(1, elapsedNanos);
+    }
+}
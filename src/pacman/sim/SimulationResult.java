@@ -0,0 +1,92 @@
+package pacman.sim;
+
+/**
+ * The outcome of one game run by a {@link SimulationEngine}.
+ */
+public class SimulationResult {
+
+    // index of the game within its run
+    private final int game;
+    // score at the end of the game
+    private final int score;
+    // level reached
+    private final int level;
+    // lives remaining
+    private final int lives;
+    // number of ticks played
+    private final long ticks;
+
+    /**
+     * Creates a result for a finished game.
+     *
+     * @param game - index of the game within its run.
+     * @param score - at the end of the game.
+     * @param level - reached.
+     * @param lives - remaining.
+     * @param ticks - played, including ticks before a level was cleared.
+     */
+    public SimulationResult(int game, int score, int level, int lives,
+                            long ticks) {
+        this.game = game;
+        this.score = score;
+        this.level = level;
+        this.lives = lives;
+        this.ticks = ticks;
+    }
+
+    /**
+     * Gets the index of the game within its run.
+     *
+     * @return game index starting from 0.
+     */
+    public int getGame() {
+        return game;
+    }
+
+    /**
+     * Gets the score at the end of the game.
+     *
+     * @return final score.
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Gets the level the game reached.
+     *
+     * @return final level.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Gets the lives the hunter had left.
+     *
+     * @return lives remaining, 0 if the game was lost.
+     */
+    public int getLives() {
+        return lives;
+    }
+
+    /**
+     * Gets the number of ticks the game was played for.
+     *
+     * @return ticks played over all levels.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Represents this result in a comma-seperated string format. Format is:
+     * "game,score,level,lives,ticks".
+     *
+     * @return "game,score,level,lives,ticks"
+     */
+    @Override
+    public String toString() {
+        return game + "," + score + "," + level + "," + lives + "," + ticks;
+    }
+}
@@ -58,6 +58,14 @@ public enum Direction {
         return this.offset;
     }
 
+    /**
+     * Gets the bit used for this direction in a mask of directions.
+     * @return a single bit that is unique to this direction.
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+
     /**
      * Gets the opposite direction to this direction.
      * @return the opposite direction e.g. up returns down, left
@@ -5,11 +5,16 @@ package pacman.util;
  * @ass1
  */
 public class Position {
-    
-    // x value of this point
-    private int x;
+
+    // largest board dimension the interned position table will grow to
+    private static final int CACHE_LIMIT = 512;
+    // interned positions, initially covering boards up to 32 x 32
+    private static volatile Table cache = new Table(32);
+
+    // x value of this point, final so shared instances are safely published
+    private final int x;
     // y value of this point
-    private int y;
+    private final int y;
 
     /**
      * Creates a position at the given x and y coordinates.
@@ -22,6 +27,73 @@ public class Position {
         this.y = y;
     }
 
+    /**
+     * Gets a position at the given x and y coordinates. Positions
+     * that lie on, or one block outside of, a board created so far
+     * are shared instances; any other position is newly created.
+     *
+     * @param x location.
+     * @param y location.
+     * @return a position equal to new Position(x, y).
+     */
+    public static Position of(int x, int y) {
+        Table table = cache;
+        int i = x + 1;
+        int j = y + 1;
+        if (i < 0 || j < 0 || i >= table.side || j >= table.side) {
+            return new Position(x, y);
+        }
+
+        int index = j * table.side + i;
+        Position position = table.items[index];
+        if (position == null) {
+            // racing threads may both create one, either is fine to keep,
+            // and the final fields make either safe to read unsynchronized
+            position = new Position(x, y);
+            table.items[index] = position;
+        }
+        return position;
+    }
+
+    /**
+     * Grows the interned position table so that every position on a
+     * board of the given size, plus a one block border around it, is
+     * shared by {@link #of(int, int)}. Sizes beyond an internal limit
+     * are only partially covered.
+     *
+     * @param width of the board.
+     * @param height of the board.
+     */
+    public static synchronized void reserve(int width, int height) {
+        int side = Math.min(Math.max(width, height), CACHE_LIMIT) + 2;
+        Table old = cache;
+        if (side <= old.side) {
+            return;
+        }
+
+        Table table = new Table(side - 2);
+        for (int j = 0; j < old.side; j++) {
+            System.arraycopy(old.items, j * old.side, table.items,
+                    j * table.side, old.side);
+        }
+        cache = table;
+    }
+
+    /*
+     * Square table of interned positions from (-1, -1) to (size, size).
+     */
+    private static final class Table {
+        // number of positions along each axis
+        private final int side;
+        // interned positions in row-major order, created lazily
+        private final Position[] items;
+
+        private Table(int size) {
+            this.side = size + 2;
+            this.items = new Position[side * side];
+        }
+    }
+
     /**
      * Gets the X axis location.
      * @return x position.
@@ -58,7 +130,7 @@ public class Position {
      * @ass1
      */
     public Position add(Position other) {
-        return new Position(x + other.x, y + other.y);
+        return of(x + other.x, y + other.y);
     }
 
     /**
@@ -69,7 +141,7 @@ public class Position {
      * @ass1
      */
     public Position multiply(int factor) {
-        return new Position(x * factor, y * factor);
+        return of(x * factor, y * factor);
     }
 
     /**
@@ -117,7 +189,8 @@ public class Position {
      */
     @Override
     public int hashCode() {
-        return x + y;
+        // unique for all coordinates that fit in 16 bits
+        return (x << 16) ^ y;
     }
 
     /**
@@ -0,0 +1,52 @@
+package pacman.util;
+
+/**
+ * Helpers for building 64-bit Zobrist style state hashes.
+ *
+ * Instead of storing a table of random keys, each key is derived from
+ * its index by a fixed bit mixing function. Keys are therefore the same
+ * on every run and boards of any size need no key storage.
+ */
+public final class Zobrist {
+
+    /*
+     * Not to be instantiated.
+     */
+    private Zobrist() {
+    }
+
+    /**
+     * Gets the pseudo random key for the given index.
+     *
+     * @param index of the key.
+     * @return a well mixed 64-bit key unique to the index.
+     */
+    public static long key(long index) {
+        long z = index + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Folds a value into a hash. The result depends on the order in
+     * which values are combined.
+     *
+     * @param hash to add the value to.
+     * @param value to add.
+     * @return the combined hash.
+     */
+    public static long combine(long hash, long value) {
+        return key(Long.rotateLeft(hash, 17) ^ key(value));
+    }
+
+    /**
+     * Reduces a 64-bit hash to a 32-bit hash code.
+     *
+     * @param hash to reduce.
+     * @return the high and low halves of the hash xor'd together.
+     */
+    public static int fold(long hash) {
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
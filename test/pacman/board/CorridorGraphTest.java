@@ -0,0 +1,57 @@
+package pacman.board;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pacman.util.Direction;
+import pacman.util.Position;
+
+/**
+* CorridorGraph Tester.
+*/
+public class CorridorGraphTest {
+
+/**
+*
+* Method: isJunction(int, int) / stepsToJunction(int, int, Direction)
+*
+*/
+@Test
+public void testCorridors() {
+    // a ring of corridors around a wall, turning at each corner
+    PacmanBoard board = new PacmanBoard(7, 5);
+    for (int x = 2; x < 5; x++) {
+        board.setEntry(new Position(x, 2), BoardItem.WALL);
+    }
+    CorridorGraph graph = new CorridorGraph(board);
+    Assert.assertEquals(4, graph.getJunctionCount());
+    Assert.assertEquals(4, graph.getCorridorCount());
+
+    Assert.assertTrue(graph.isJunction(1, 1));
+    Assert.assertTrue(graph.isJunction(5, 3));
+    Assert.assertFalse(graph.isJunction(3, 1));
+    Assert.assertFalse(graph.isJunction(1, 2));
+    Assert.assertFalse(graph.isJunction(3, 2));
+    Assert.assertFalse(graph.isJunction(0, 0));
+    Assert.assertFalse(graph.isJunction(-1, 3));
+
+    Assert.assertEquals(3, graph.stepsToJunction(2, 1, Direction.RIGHT));
+    Assert.assertEquals(2, graph.stepsToJunction(3, 1, Direction.LEFT));
+    Assert.assertEquals(1, graph.stepsToJunction(1, 2, Direction.UP));
+    Assert.assertEquals(1, graph.stepsToJunction(5, 2, Direction.DOWN));
+    // across a corridor, from a junction or off a corridor
+    Assert.assertEquals(0, graph.stepsToJunction(3, 1, Direction.UP));
+    Assert.assertEquals(0, graph.stepsToJunction(1, 2, Direction.LEFT));
+    Assert.assertEquals(0, graph.stepsToJunction(1, 1, Direction.RIGHT));
+    Assert.assertEquals(0, graph.stepsToJunction(3, 2, Direction.RIGHT));
+    Assert.assertEquals(0, graph.stepsToJunction(9, 9, Direction.RIGHT));
+
+    // opening the wall joins the corridors at two crossings
+    board.setEntry(new Position(3, 2), BoardItem.NONE);
+    graph = new CorridorGraph(board);
+    Assert.assertTrue(graph.isJunction(3, 1));
+    Assert.assertFalse(graph.isJunction(3, 2));
+    Assert.assertEquals(6, graph.getJunctionCount());
+    Assert.assertEquals(7, graph.getCorridorCount());
+    Assert.assertEquals(board.getLayoutVersion(), graph.getLayoutVersion());
+}
+}
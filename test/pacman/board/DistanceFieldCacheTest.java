@@ -0,0 +1,158 @@
+package pacman.board;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import pacman.util.Position;
+
+/**
+* DistanceFieldCache Tester.
+*/
+public class DistanceFieldCacheTest {
+
+private PacmanBoard board;
+
+/**
+* an 11x7 board with a wall down the middle, open only at the bottom.
+*/
+@Before
+public void before() {
+    board = new PacmanBoard(11, 7);
+    for (int y = 1; y < 5; y++) {
+        board.setEntry(new Position(5, y), BoardItem.WALL);
+    }
+}
+
+/**
+*
+* Method: DistanceField(PacmanBoard, Position) / distance(int, int)
+*
+*/
+@Test
+public void testDistances() {
+    DistanceField field = new DistanceField(board, Position.of(7, 1));
+    Assert.assertEquals(0, field.distance(7, 1));
+    Assert.assertEquals(1, field.distance(7, 2));
+    // around the wall rather than through it
+    Assert.assertEquals(12, field.distance(3, 1));
+    Assert.assertEquals(DistanceField.UNREACHABLE, field.distance(5, 1));
+    Assert.assertEquals(DistanceField.UNREACHABLE, field.distance(-1, 1));
+
+    // targets off the board or in a wall use the closest pathable block
+    DistanceField corner = new DistanceField(board, Position.of(11, -1));
+    Assert.assertEquals(Position.of(9, 1), corner.getTarget());
+    Assert.assertEquals(0, corner.distance(9, 1));
+    // far off the board the target is moved onto the board first, the
+    // same as the cache does
+    DistanceField far = new DistanceField(board, Position.of(-40, 5));
+    Assert.assertEquals(Position.of(1, 5), far.getTarget());
+    DistanceFieldCache cache = new DistanceFieldCache();
+    Assert.assertEquals(far.getTarget(),
+            cache.get(board, Position.of(-40, 5)).getTarget());
+
+    // blocks walled off from the target are unreachable
+    board.setEntry(new Position(5, 5), BoardItem.WALL);
+    field = new DistanceField(board, Position.of(7, 1));
+    Assert.assertEquals(DistanceField.UNREACHABLE, field.distance(3, 1));
+}
+
+/**
+*
+* Method: get(PacmanBoard, Position)
+*
+*/
+@Test
+public void testInvalidation() {
+    DistanceFieldCache cache = new DistanceFieldCache();
+    board.reset();
+    DistanceField field = cache.get(board, Position.of(7, 1));
+    Assert.assertSame(field, cache.get(board, Position.of(7, 1)));
+    Assert.assertEquals(1, cache.getHits());
+    Assert.assertEquals(1, cache.getMisses());
+
+    // eating dots and copying the board keep the layout
+    long layout = board.getLayoutVersion();
+    board.eatDot(Position.of(2, 2));
+    PacmanBoard copy = new PacmanBoard(board);
+    Assert.assertEquals(layout, copy.getLayoutVersion());
+    Assert.assertSame(field, cache.get(copy, Position.of(7, 1)));
+
+    // changing a wall gives new distances
+    board.setEntry(new Position(5, 5), BoardItem.WALL);
+    Assert.assertNotEquals(layout, board.getLayoutVersion());
+    DistanceField walled = cache.get(board, Position.of(7, 1));
+    Assert.assertNotSame(field, walled);
+    Assert.assertEquals(DistanceField.UNREACHABLE, walled.distance(3, 1));
+    // the copy still has its own layout and distances
+    Assert.assertSame(field, cache.get(copy, Position.of(7, 1)));
+    Assert.assertEquals(layout, copy.getLayoutVersion());
+
+    // setting a whole row changes the layout only if a wall changed
+    layout = board.getLayoutVersion();
+    BoardItem[] row = new BoardItem[11];
+    for (int x = 0; x < 11; x++) {
+        row[x] = board.getEntry(x, 3);
+    }
+    board.setRow(3, row);
+    Assert.assertEquals(layout, board.getLayoutVersion());
+    row[5] = BoardItem.DOT;
+    board.setRow(3, row);
+    Assert.assertNotEquals(layout, board.getLayoutVersion());
+}
+
+/**
+*
+* Method: get(PacmanBoard, Position) with a memory cap
+*
+*/
+@Test
+public void testEviction() {
+    long fieldBytes = 4L * 11 * 7;
+    DistanceFieldCache cache = new DistanceFieldCache(3 * fieldBytes);
+    DistanceField first = cache.get(board, Position.of(1, 1));
+    cache.get(board, Position.of(2, 1));
+    cache.get(board, Position.of(3, 1));
+    // touching the first field makes the second the least recently used
+    Assert.assertSame(first, cache.get(board, Position.of(1, 1)));
+    cache.get(board, Position.of(4, 1));
+    Assert.assertEquals(3, cache.size());
+    Assert.assertEquals(3 * fieldBytes, cache.sizeInBytes());
+    Assert.assertSame(first, cache.get(board, Position.of(1, 1)));
+    long misses = cache.getMisses();
+    cache.get(board, Position.of(2, 1));
+    Assert.assertEquals(misses + 1, cache.getMisses());
+
+    // fields bigger than the cap are never held
+    DistanceFieldCache none = new DistanceFieldCache(0);
+    Assert.assertNotNull(none.get(board, Position.of(1, 1)));
+    Assert.assertEquals(0, none.size());
+    cache.clear();
+    Assert.assertEquals(0, cache.sizeInBytes());
+}
+
+/**
+*
+* Method: get(PacmanBoard, Position) from many threads
+*
+*/
+@Test
+public void testConcurrentGet() throws Exception {
+    DistanceFieldCache cache = new DistanceFieldCache();
+    DistanceField[] fields = new DistanceField[8];
+    Thread[] threads = new Thread[fields.length];
+    for (int i = 0; i < threads.length; i++) {
+        int index = i;
+        threads[i] = new Thread(() -> fields[index] = cache.get(board,
+                Position.of(7, 1)));
+        threads[i].start();
+    }
+    for (Thread thread : threads) {
+        thread.join();
+    }
+    // the field is computed once and shared
+    Assert.assertEquals(1, cache.getMisses());
+    for (DistanceField field : fields) {
+        Assert.assertSame(fields[0], field);
+    }
+}
+}
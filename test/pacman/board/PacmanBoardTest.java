@@ -0,0 +1,162 @@
+package pacman.board;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import pacman.util.Position;
+
+/**
+* PacmanBoard Tester.
+*/
+public class PacmanBoardTest {
+
+private PacmanBoard board;
+
+/**
+* a 5x4 board with both spawns placed.
+*/
+@Before
+public void before() {
+    board = new PacmanBoard(5, 4);
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(3, 2), BoardItem.GHOST_SPAWN);
+}
+
+/**
+*
+* Method: remainingPickups() and isEmpty()
+*
+*/
+@Test
+public void testRemainingPickups() {
+    Assert.assertTrue(board.isEmpty());
+    Assert.assertEquals(0, board.remainingPickups());
+    board.reset();
+    // 6 inner cells minus the two spawns
+    Assert.assertEquals(4, board.remainingPickups());
+    board.setEntry(new Position(2, 1), BoardItem.BIG_DOT);
+    Assert.assertEquals(4, board.remainingPickups());
+    board.setEntry(new Position(2, 2), BoardItem.WALL);
+    Assert.assertEquals(3, board.remainingPickups());
+    // spawns replace dots
+    board.setEntry(new Position(3, 1), BoardItem.PACMAN_SPAWN);
+    Assert.assertEquals(2, board.remainingPickups());
+
+    PacmanBoard copy = new PacmanBoard(board);
+    Assert.assertEquals(BoardItem.BIG_DOT,
+            board.eatDot(new Position(2, 1)));
+    Assert.assertEquals(BoardItem.DOT, board.eatDot(new Position(1, 2)));
+    Assert.assertTrue(board.isEmpty());
+    Assert.assertEquals(2, copy.remainingPickups());
+
+    board.reset();
+    Assert.assertEquals(3, board.remainingPickups());
+}
+
+/**
+*
+* Method: getPacmanSpawn() / getGhostSpawn()
+*
+*/
+@Test
+public void testSpawns() {
+    Assert.assertEquals(new Position(1, 1), board.getPacmanSpawn());
+    Assert.assertEquals(new Position(3, 2), board.getGhostSpawn());
+    // moving a spawn clears the old one
+    board.setEntry(new Position(2, 2), BoardItem.PACMAN_SPAWN);
+    Assert.assertEquals(new Position(2, 2), board.getPacmanSpawn());
+    Assert.assertEquals(BoardItem.NONE, board.getEntry(new Position(1, 1)));
+    // overwriting a spawn removes it
+    board.setEntry(new Position(3, 2), BoardItem.WALL);
+    Assert.assertNull(board.getGhostSpawn());
+    board.reset();
+    Assert.assertEquals(new Position(2, 2), board.getPacmanSpawn());
+    PacmanBoard copy = new PacmanBoard(board);
+    copy.setEntry(new Position(1, 2), BoardItem.GHOST_SPAWN);
+    Assert.assertEquals(new Position(1, 2), copy.getGhostSpawn());
+    Assert.assertNull(board.getGhostSpawn());
+}
+
+/**
+*
+* Method: getEntry(Position) out of bounds
+*
+*/
+@Test(expected = IndexOutOfBoundsException.class)
+public void testGetEntryOutOfBounds() {
+    board.getEntry(new Position(-1, 1));
+}
+
+/**
+*
+* Method: toString() / equals(Object)
+*
+*/
+@Test
+public void testLayout() {
+    String sepa = System.lineSeparator();
+    Assert.assertEquals("XXXXX" + sepa + "XP00X" + sepa + "X00$X" + sepa
+            + "XXXXX", board.toString());
+    PacmanBoard copy = new PacmanBoard(board);
+    Assert.assertEquals(board, copy);
+    copy.setEntry(new Position(2, 2), BoardItem.WALL);
+    Assert.assertNotEquals(board, copy);
+}
+
+/**
+*
+* Method: stateHash() / hashCode()
+*
+*/
+@Test
+public void testStateHash() {
+    PacmanBoard copy = new PacmanBoard(board);
+    Assert.assertEquals(board.stateHash(), copy.stateHash());
+    copy.setEntry(new Position(2, 2), BoardItem.WALL);
+    Assert.assertNotEquals(board.stateHash(), copy.stateHash());
+    copy.setEntry(new Position(2, 2), BoardItem.NONE);
+    Assert.assertEquals(board.stateHash(), copy.stateHash());
+    Assert.assertEquals(board.hashCode(), copy.hashCode());
+
+    // a board built up differently still hashes the same
+    copy.reset();
+    copy.eatDot(new Position(2, 1));
+    PacmanBoard other = new PacmanBoard(5, 4);
+    other.setEntry(new Position(3, 2), BoardItem.GHOST_SPAWN);
+    other.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    other.setEntry(new Position(3, 1), BoardItem.DOT);
+    other.setEntry(new Position(1, 2), BoardItem.DOT);
+    other.setEntry(new Position(2, 2), BoardItem.DOT);
+    Assert.assertEquals(other, copy);
+    Assert.assertEquals(other.stateHash(), copy.stateHash());
+    Assert.assertNotEquals(new PacmanBoard(4, 5).stateHash(),
+            new PacmanBoard(5, 4).stateHash());
+}
+
+/**
+*
+* Method: setRow(int, BoardItem[])
+*
+*/
+@Test
+public void testSetRow() {
+    BoardItem[] row = {BoardItem.WALL, BoardItem.DOT, BoardItem.WALL,
+        BoardItem.PACMAN_SPAWN, BoardItem.NONE};
+    PacmanBoard copy = new PacmanBoard(board);
+    copy.setRow(2, row);
+    for (int x = 0; x < row.length; x++) {
+        board.setEntry(new Position(x, 2), row[x]);
+    }
+    Assert.assertEquals(board, copy);
+    Assert.assertEquals(board.stateHash(), copy.stateHash());
+    Assert.assertEquals(board.getPacmanSpawn(), copy.getPacmanSpawn());
+    Assert.assertNull(copy.getGhostSpawn());
+    Assert.assertEquals(1, copy.remainingPickups());
+    for (int y = 0; y < 4; y++) {
+        for (int x = 0; x < 5; x++) {
+            Assert.assertEquals(board.getNeighbourMask(x, y),
+                    copy.getNeighbourMask(x, y));
+        }
+    }
+}
+}
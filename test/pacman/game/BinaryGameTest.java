@@ -0,0 +1,169 @@
+package pacman.game;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import pacman.board.BoardItem;
+import pacman.board.PacmanBoard;
+import pacman.ghost.Ghost;
+import pacman.ghost.Phase;
+import pacman.hunter.Phasey;
+import pacman.util.Direction;
+import pacman.util.Position;
+import pacman.util.UnpackableException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+/**
+* BinaryGameWriter and BinaryGameReader Tester.
+*/
+public class BinaryGameTest {
+
+private PacmanGame game;
+
+/**
+* a game part way through on a 31x17 board.
+*/
+@Before
+public void before() {
+    PacmanBoard board = new PacmanBoard(31, 17);
+    for (int x = 1; x < 30; x++) {
+        for (int y = 1; y < 16; y++) {
+            board.setEntry(new Position(x, y),
+                    (x * 7 + y) % 5 == 0 ? BoardItem.WALL : BoardItem.DOT);
+        }
+    }
+    board.setEntry(new Position(3, 3), BoardItem.BIG_DOT);
+    board.setEntry(new Position(4, 3), BoardItem.BIG_DOT_SPAWN);
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(15, 8), BoardItem.GHOST_SPAWN);
+    game = new PacmanGame("binary \u00fcn\u00efcode", "test", new Phasey(),
+            board);
+    game.setLives(3);
+    game.setLevel(300);
+    game.getScores().increaseScore(4567);
+    game.getScores().setScore("Alex", 30);
+    game.getScores().setScore("zed", 1 << 20);
+    game.getHunter().setPosition(new Position(2, 5));
+    game.getHunter().setDirection(Direction.LEFT);
+    game.getHunter().activateSpecial(12);
+    int i = 0;
+    for (Ghost g : game.getGhosts()) {
+        g.setPosition(new Position(10 + i, 9));
+        g.setDirection(Direction.values()[i]);
+        g.setPhase(Phase.values()[i % 3], 5 + i);
+        i++;
+    }
+}
+
+/**
+* writes the game in the binary format.
+*/
+private byte[] save() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryGameWriter.write(out, game);
+    return out.toByteArray();
+}
+
+/**
+*
+* Method: read(InputStream) of write(OutputStream, PacmanGame)
+*
+*/
+@Test
+public void testRoundTrip() throws Exception {
+    byte[] binary = save();
+    PacmanGame read = BinaryGameReader.read(new ByteArrayInputStream(binary));
+    Assert.assertEquals(game.getTitle(), read.getTitle());
+    Assert.assertEquals(game.getAuthor(), read.getAuthor());
+    Assert.assertEquals(game.getBoard(), read.getBoard());
+    Assert.assertEquals(game.getHunter(), read.getHunter());
+    Assert.assertEquals(game.getGhosts(), read.getGhosts());
+    Assert.assertEquals(game.getScores(), read.getScores());
+    Assert.assertEquals(game.getLives(), read.getLives());
+    Assert.assertEquals(game.getLevel(), read.getLevel());
+
+    // the same game as a text save would give
+    StringWriter text = new StringWriter();
+    GameWriter.write(text, game);
+    PacmanGame fromText = GameReader.read(new StringReader(text.toString()));
+    Assert.assertEquals(fromText.stateHash(), read.stateHash());
+    Assert.assertTrue(binary.length * 2 < text.toString().length());
+}
+
+/**
+*
+* Method: read(InputStream) with invalid saves
+*
+*/
+@Test
+public void testReadInvalid() throws Exception {
+    byte[] binary = save();
+    byte[][] invalid = {
+        Arrays.copyOf(binary, binary.length - 1),
+        Arrays.copyOf(binary, binary.length + 1),
+        Arrays.copyOf(binary, 20),
+        new byte[0],
+        binary.clone(),
+        binary.clone(),
+    };
+    invalid[4][0] = 'X';
+    invalid[5][4] = 2;
+    int num = 0;
+    for (byte[] bytes : invalid) {
+        try {
+            BinaryGameReader.read(new ByteArrayInputStream(bytes));
+        } catch (UnpackableException e) {
+            num++;
+        }
+    }
+    Assert.assertEquals(invalid.length, num);
+}
+
+/**
+*
+* Method: read(InputStream) with corrupt sizes
+*
+*/
+@Test
+public void testReadCorruptSizes() throws Exception {
+    byte[] header = {'P', 'M', 'G', 'B', 1};
+    byte[][] invalid = {
+        // a 2^28 x 2^28 board
+        concat(header, new byte[] {(byte) 0x80, (byte) 0x80, (byte) 0x80,
+            (byte) 0x80, 0x01, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+            (byte) 0x80, 0x01}),
+        // a 2^26 x 1 board cut off after its header
+        concat(header, new byte[] {(byte) 0x80, (byte) 0x80, (byte) 0x80,
+            0x20, 0x01}),
+        // a 1 x 1 board with a title of 2^31 - 1 bytes
+        concat(header, new byte[] {0x01, 0x01, 0x01, (byte) 0xFF,
+            (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}),
+        // a 1 x 1 board with a title longer than the rest of the save
+        concat(header, new byte[] {0x01, 0x01, 0x01, (byte) 0xFF,
+            (byte) 0xFF, 0x03, 'a'}),
+    };
+    int num = 0;
+    for (byte[] bytes : invalid) {
+        try {
+            BinaryGameReader.read(new ByteArrayInputStream(bytes));
+        } catch (UnpackableException e) {
+            num++;
+        }
+    }
+    Assert.assertEquals(invalid.length, num);
+}
+
+/**
+* the bytes of a followed by the bytes of b.
+*/
+private static byte[] concat(byte[] a, byte[] b) {
+    byte[] bytes = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, bytes, a.length, b.length);
+    return bytes;
+}
+}
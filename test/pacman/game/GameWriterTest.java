@@ -92,4 +92,29 @@ public void testWrite() throws Exception {
     Assert.assertNull(read.readLine());
     read.close();
 }
-} 
+
+/**
+* Method: write(Writer writer, PacmanGame game) with many scores.
+*
+* @throws Exception may occur in test
+*/
+@Test
+public void testWriteManyScores() throws Exception {
+    PacmanBoard board = new PacmanBoard(5, 4);
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(2, 2), BoardItem.GHOST_SPAWN);
+    PacmanGame game = new PacmanGame("test", "1123", new Speedy(), board);
+    for (int i = 0; i < 20000; i++) {
+        game.getScores().setScore("n" + Integer.toString(i * 7919, 36),
+                i % 1000);
+    }
+    StringWriter out = new StringWriter();
+    GameWriter.write(out, game);
+    String sepa = System.lineSeparator();
+    String written = out.toString();
+    String scores = written.substring(written.indexOf("[Scores]" + sepa)
+            + "[Scores]".length() + sepa.length());
+    Assert.assertEquals(String.join(sepa, game.getScores()
+            .getEntriesByName()), scores);
+}
+}
@@ -0,0 +1,87 @@
+package pacman.game;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import pacman.board.BoardItem;
+import pacman.board.PacmanBoard;
+import pacman.hunter.Phil;
+import pacman.util.Position;
+import pacman.util.UnpackableException;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+* MappedGameReader Tester.
+*/
+public class MappedGameReaderTest {
+
+private Path file;
+
+/**
+* saves a game with a random 300x200 board.
+*/
+@Before
+public void before() throws Exception {
+    PacmanBoard board = new PacmanBoard(300, 200);
+    Random random = new Random(3);
+    BoardItem[] items = {BoardItem.NONE, BoardItem.WALL, BoardItem.DOT,
+        BoardItem.BIG_DOT, BoardItem.BIG_DOT_SPAWN};
+    for (int y = 1; y < 199; y++) {
+        for (int x = 1; x < 299; x++) {
+            board.setEntry(new Position(x, y),
+                    items[random.nextInt(items.length)]);
+        }
+    }
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(150, 100), BoardItem.GHOST_SPAWN);
+    PacmanGame game = new PacmanGame("mapped", "test", new Phil(), board);
+    game.getScores().setScore("Alex", 30);
+    file = Files.createTempFile("mapped", ".map");
+    GameWriter.write(new FileWriter(file.toFile()), game);
+}
+
+/**
+* delete the save.
+*/
+@After
+public void after() throws Exception {
+    Files.deleteIfExists(file);
+}
+
+/**
+*
+* Method: read(Path, int)
+*
+*/
+@Test
+public void testRead() throws Exception {
+    PacmanGame expected = GameReader.read(new FileReader(file.toFile()));
+    // windows smaller than a row and not dividing the file size
+    for (int window : new int[] {7, 4099, MappedGameReader.WINDOW}) {
+        PacmanGame game = MappedGameReader.read(file, window);
+        Assert.assertEquals(expected.getBoard(), game.getBoard());
+        Assert.assertEquals(expected.stateHash(), game.stateHash());
+        Assert.assertEquals(expected.getScores(), game.getScores());
+        Assert.assertEquals(expected.getTitle(), game.getTitle());
+    }
+}
+
+/**
+*
+* Method: read(Path) with a row one block short
+*
+*/
+@Test(expected = UnpackableException.class)
+public void testReadShortRow() throws Exception {
+    String save = Files.readString(file);
+    int row = save.indexOf('X', save.indexOf("300,200") + 8);
+    Files.writeString(file, save.substring(0, row) + save.substring(row + 1));
+    MappedGameReader.read(file);
+}
+}
@@ -0,0 +1,377 @@
+package pacman.game;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import pacman.board.BoardItem;
+import pacman.board.CorridorGraph;
+import pacman.board.PacmanBoard;
+import pacman.ghost.GhostSwarm;
+import pacman.hunter.Hungry;
+import pacman.hunter.Hunter;
+import pacman.hunter.Phil;
+import pacman.hunter.Speedy;
+import pacman.util.Direction;
+import pacman.util.Position;
+
+import java.util.Random;
+
+/**
+* PacmanGame Tester.
+*/
+public class PacmanGameTest {
+
+private PacmanGame game;
+
+/**
+* sets up the game.
+*/
+@Before
+public void before() {
+    game = newGame();
+}
+
+/**
+* a reset game on a 12x9 board with a wall across the middle.
+*/
+private static PacmanGame newGame() {
+    PacmanBoard board = new PacmanBoard(12, 9);
+    for (int x = 3; x < 9; x++) {
+        board.setEntry(new Position(x, 4), BoardItem.WALL);
+    }
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(10, 7), BoardItem.GHOST_SPAWN);
+    board.setEntry(new Position(2, 6), BoardItem.BIG_DOT_SPAWN);
+    PacmanGame game = new PacmanGame("test", "test", new Speedy(), board);
+    game.reset();
+    return game;
+}
+
+/**
+* ticks the game with seeded random turns.
+*/
+private static void play(PacmanGame game, long seed, int ticks) {
+    Random random = new Random(seed);
+    Direction[] directions = Direction.values();
+    for (int i = 0; i < ticks; i++) {
+        if (random.nextInt(4) == 0) {
+            game.getHunter().setDirection(
+                    directions[random.nextInt(directions.length)]);
+        }
+        if (i == ticks / 2) {
+            game.getHunter().activateSpecial(10);
+            game.setGhostsFrightened();
+        }
+        game.tick();
+    }
+}
+
+/**
+*
+* Method: snapshot() / restore(GameSnapshot)
+*
+*/
+@Test
+public void testSnapshotRestore() {
+    play(game, 1, 40);
+    GameSnapshot snapshot = game.snapshot();
+    String board = game.getBoard().toString();
+    Assert.assertEquals(game.stateHash(), snapshot.getStateHash());
+
+    play(game, 2, 300);
+    long branchHash = game.stateHash();
+    int branchScore = game.getScores().getScore();
+    Assert.assertNotEquals(board, game.getBoard().toString());
+
+    game.restore(snapshot);
+    Assert.assertEquals(snapshot.getStateHash(), game.stateHash());
+    Assert.assertEquals(board, game.getBoard().toString());
+    Assert.assertEquals(snapshot.getScore(), game.getScores().getScore());
+    Assert.assertEquals(snapshot.getTick(), game.getTick());
+    Assert.assertEquals(snapshot.getLives(), game.getLives());
+
+    // replaying the same branch ends in the same state
+    play(game, 2, 300);
+    Assert.assertEquals(branchHash, game.stateHash());
+    Assert.assertEquals(branchScore, game.getScores().getScore());
+
+    // the snapshot is unaffected by play after it was restored
+    game.restore(snapshot);
+    Assert.assertEquals(board, game.getBoard().toString());
+}
+
+/**
+*
+* Method: snapshot() / restore(GameSnapshot) with a ghost swarm
+*
+*/
+@Test
+public void testSnapshotRestoreSwarm() {
+    game.setGhostSwarm(new GhostSwarm(40));
+    play(game, 1, 40);
+    GameSnapshot snapshot = game.snapshot();
+    GhostSwarm swarm = game.getGhostSwarm();
+
+    play(game, 2, 300);
+    long branchHash = game.stateHash();
+    game.restore(snapshot);
+    Assert.assertEquals(snapshot.getStateHash(), game.stateHash());
+    Assert.assertNotSame(swarm, game.getGhostSwarm());
+
+    // replaying the same branch ends in the same state
+    play(game, 2, 300);
+    Assert.assertEquals(branchHash, game.stateHash());
+
+    // a snapshot without a swarm removes it
+    PacmanGame plain = newGame();
+    game.restore(plain.snapshot());
+    Assert.assertNull(game.getGhostSwarm());
+    Assert.assertEquals(plain.stateHash(), game.stateHash());
+}
+
+/**
+*
+* Method: setTickListener(TickListener)
+*
+*/
+@Test
+public void testTickMetrics() {
+    PacmanGame plain = newGame();
+    TickMetrics metrics = new TickMetrics();
+    game.setTickListener(metrics);
+    Assert.assertSame(metrics, game.getTickListener());
+    int ticks = 0;
+    for (long seed = 0; seed < 20 && game.getLives() > 0; seed++) {
+        play(game, seed, 200);
+        play(plain, seed, 200);
+        ticks += 200;
+    }
+    // timing a game does not change how it plays
+    Assert.assertEquals(plain.stateHash(), game.stateHash());
+    Assert.assertEquals(plain.getScores().getScore(),
+            game.getScores().getScore());
+
+    long played = metrics.getCount(TickStep.HUNTER_MOVE);
+    Assert.assertTrue(played > 0 && played <= ticks);
+    for (TickStep step : TickStep.values()) {
+        if (step != TickStep.TICK) {
+            Assert.assertEquals(played, metrics.getCount(step));
+        }
+    }
+    Assert.assertEquals(played, metrics.getCount(TickStep.TICK)
+            + metrics.getLevelClears());
+    Assert.assertEquals(game.getLevel(), metrics.getLevelClears());
+    Assert.assertEquals(4 - game.getLives(), metrics.getHunterDeaths());
+    Assert.assertTrue(metrics.getPickupsEaten() > 0);
+    Assert.assertTrue(metrics.getGhostKills() * 200
+            <= game.getScores().getScore());
+    Assert.assertTrue(metrics.getPercentileNanos(TickStep.HUNTER_MOVE, 0.5)
+            <= metrics.getPercentileNanos(TickStep.HUNTER_MOVE, 1));
+
+    game.setTickListener(null);
+    game.tick();
+    metrics.reset();
+    Assert.assertEquals(0, metrics.getCount(TickStep.HUNTER_MOVE));
+    Assert.assertEquals(0, metrics.getPercentileNanos(TickStep.TICK, 0.99));
+}
+
+/**
+*
+* Method: fastForward(int)
+*
+*/
+@Test
+public void testFastForward() {
+    PacmanGame plain = newGame();
+    Random random = new Random(7);
+    Direction[] directions = Direction.values();
+    int calls = 0;
+    while (game.getLives() > 0 && calls < 2000) {
+        Direction direction = directions[random.nextInt(directions.length)];
+        game.getHunter().setDirection(direction);
+        plain.getHunter().setDirection(direction);
+        int ticks = game.fastForward(50);
+        Assert.assertTrue(ticks >= 1 && ticks <= 50);
+        for (int i = 0; i < ticks; i++) {
+            plain.tick();
+        }
+        // the same state as ticking one at a time
+        Assert.assertEquals(plain.stateHash(), game.stateHash());
+        Assert.assertEquals(plain.getScores().getScore(),
+                game.getScores().getScore());
+        Position hunter = game.getHunter().getPosition();
+        if (ticks < 50 && game.getLives() == plain.getLives()) {
+            Assert.assertTrue(ticks == 1 || game.getCorridorGraph()
+                    .isJunction(hunter.getX(), hunter.getY()));
+        }
+        calls++;
+    }
+    Assert.assertEquals(0, game.fastForward(0));
+
+    // walls changed after the graph was built are picked up
+    CorridorGraph graph = game.getCorridorGraph();
+    Assert.assertSame(graph, game.getCorridorGraph());
+    game.getBoard().setEntry(new Position(5, 6), BoardItem.WALL);
+    Assert.assertNotSame(graph, game.getCorridorGraph());
+}
+
+/**
+* a reset game on a 21x15 grid of corridors five blocks long, with
+* junctions where the corridors cross.
+*/
+private static PacmanGame newMaze(Hunter hunter) {
+    PacmanBoard board = new PacmanBoard(21, 15);
+    for (int y = 1; y < 14; y++) {
+        for (int x = 1; x < 20; x++) {
+            if (x % 6 != 1 && y % 6 != 1) {
+                board.setEntry(new Position(x, y), BoardItem.WALL);
+            }
+        }
+    }
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(19, 13), BoardItem.GHOST_SPAWN);
+    board.setEntry(new Position(10, 7), BoardItem.BIG_DOT_SPAWN);
+    PacmanGame game = new PacmanGame("test", "test", hunter, board);
+    game.reset();
+    return game;
+}
+
+/**
+*
+* Method: tickN(int, Predicate) eating the last dot and losing the last life
+*
+*/
+@Test
+public void testTickNLastLifeAndDot() {
+    PacmanBoard board = new PacmanBoard(7, 3);
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(3, 1), BoardItem.DOT);
+    board.setEntry(new Position(5, 1), BoardItem.GHOST_SPAWN);
+    PacmanGame last = new PacmanGame("test", "test", new Phil(), board);
+    last.setLives(1);
+    last.getHunter().setPosition(Position.of(2, 1));
+    last.getHunter().setDirection(Direction.RIGHT);
+    last.getGhosts().get(0).setPosition(Position.of(3, 1));
+
+    TickSummary summary = last.tickN(10, null);
+    // the board was cleared too, but the game is over
+    Assert.assertEquals(1, last.getLevel());
+    Assert.assertEquals(0, last.getLives());
+    Assert.assertEquals(StopReason.GAME_OVER, summary.getStopReason());
+    Assert.assertEquals(1, summary.getTicks());
+    Assert.assertEquals(1, summary.getPickupsEaten());
+}
+
+/**
+*
+* Method: fastForward(int) skipping along corridors
+*
+*/
+@Test
+public void testFastForwardJumps() {
+    Hunter[][] hunters = {{new Phil(), new Phil()},
+        {new Hungry(), new Hungry()}, {new Speedy(), new Speedy()}};
+    for (int seed = 0; seed < hunters.length; seed++) {
+        PacmanGame jumping = newMaze(hunters[seed][0]);
+        PacmanGame plain = newMaze(hunters[seed][1]);
+        Random random = new Random(seed);
+        Direction[] directions = Direction.values();
+        for (int calls = 0; calls < 3000 && plain.getLives() > 0; calls++) {
+            if (random.nextInt(3) == 0) {
+                Direction direction =
+                        directions[random.nextInt(directions.length)];
+                jumping.getHunter().setDirection(direction);
+                plain.getHunter().setDirection(direction);
+            }
+            if (random.nextInt(200) == 0) {
+                jumping.getHunter().activateSpecial(10);
+                plain.getHunter().activateSpecial(10);
+                jumping.setGhostsFrightened();
+                plain.setGhostsFrightened();
+            }
+            int max = 1 + random.nextInt(40);
+            int ticks = jumping.fastForward(max);
+            Assert.assertTrue(ticks >= 1 && ticks <= max);
+            for (int i = 0; i < ticks; i++) {
+                plain.tick();
+            }
+            // the same state as ticking one at a time
+            Assert.assertEquals(plain.stateHash(), jumping.stateHash());
+            Assert.assertEquals(plain.getScores().getScore(),
+                    jumping.getScores().getScore());
+            Assert.assertEquals(plain.getBoard(), jumping.getBoard());
+        }
+    }
+}
+
+/**
+*
+* Method: tickN(int, Predicate)
+*
+*/
+@Test
+public void testTickN() {
+    PacmanGame plain = newGame();
+    Random random = new Random(11);
+    Direction[] directions = Direction.values();
+    int lifeLost = 0;
+    int cleared = 0;
+    while (game.getLives() > 0) {
+        Direction direction = directions[random.nextInt(directions.length)];
+        game.getHunter().setDirection(direction);
+        plain.getHunter().setDirection(direction);
+        int startScore = plain.getScores().getScore();
+        int startLives = plain.getLives();
+        int startLevel = plain.getLevel();
+        TickSummary summary = game.tickN(25, null);
+        for (int i = 0; i < summary.getTicks(); i++) {
+            plain.tick();
+        }
+        // the same state as ticking one at a time
+        Assert.assertEquals(plain.stateHash(), game.stateHash());
+        Assert.assertEquals(plain.getScores().getScore() - startScore,
+                summary.getScore());
+        Assert.assertTrue(summary.getGhostsKilled() * 200
+                <= summary.getScore());
+        switch (summary.getStopReason()) {
+            case COMPLETED:
+                Assert.assertEquals(25, summary.getTicks());
+                Assert.assertEquals(startLives, game.getLives());
+                break;
+            case LIFE_LOST:
+                lifeLost++;
+                Assert.assertEquals(startLives - 1, game.getLives());
+                break;
+            case LEVEL_CLEARED:
+                cleared++;
+                Assert.assertEquals(startLevel + 1, game.getLevel());
+                break;
+            case GAME_OVER:
+                Assert.assertEquals(0, game.getLives());
+                break;
+            default:
+                Assert.fail(summary.toString());
+        }
+    }
+    Assert.assertEquals(3, lifeLost);
+    Assert.assertEquals(game.getLevel(), cleared);
+
+    // nothing runs once the game is over
+    TickSummary over = game.tickN(10, null);
+    Assert.assertEquals(0, over.getTicks());
+    Assert.assertEquals(StopReason.GAME_OVER, over.getStopReason());
+    Assert.assertEquals("0,GAME_OVER,0,0,0", over.toString());
+
+    // custom conditions and pickups eaten
+    game.reset();
+    int pickups = game.getBoard().remainingPickups();
+    game.getHunter().setDirection(Direction.RIGHT);
+    TickSummary moved = game.tickN(100,
+            g -> g.getHunter().getPosition().getX() == 4);
+    Assert.assertEquals(StopReason.CONDITION, moved.getStopReason());
+    Assert.assertEquals(3, moved.getTicks());
+    Assert.assertEquals(3, moved.getPickupsEaten());
+    Assert.assertEquals(pickups - 3, game.getBoard().remainingPickups());
+    Assert.assertEquals(30, moved.getScore());
+}
+}
@@ -0,0 +1,241 @@
+package pacman.ghost;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pacman.board.BoardItem;
+import pacman.board.DistanceFieldCache;
+import pacman.board.PacmanBoard;
+import pacman.game.PacmanGame;
+import pacman.hunter.HunterType;
+import pacman.util.Direction;
+import pacman.util.Position;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+* GhostSwarm Tester.
+*/
+public class GhostSwarmTest {
+
+/**
+* a random board with walls, open blocks and both spawns.
+*/
+private static PacmanBoard randomBoard(Random random) {
+    int width = 3 + random.nextInt(20);
+    int height = 3 + random.nextInt(20);
+    PacmanBoard board = new PacmanBoard(width, height);
+    for (int x = 0; x < width; x++) {
+        for (int y = 0; y < height; y++) {
+            if (random.nextInt(10) < 3) {
+                board.setEntry(new Position(x, y), BoardItem.WALL);
+            }
+        }
+    }
+    board.setEntry(randomPosition(random, board), BoardItem.PACMAN_SPAWN);
+    board.setEntry(randomPosition(random, board), BoardItem.GHOST_SPAWN);
+    return board;
+}
+
+/**
+* a random position on the board.
+*/
+private static Position randomPosition(Random random, PacmanBoard board) {
+    return Position.of(random.nextInt(board.getWidth()),
+            random.nextInt(board.getHeight()));
+}
+
+/**
+*
+* Method: move(PacmanGame) compared against Ghost.move(PacmanGame)
+*
+*/
+@Test
+public void testMoveMatchesGhosts() {
+    Random random = new Random(2024);
+    Direction[] directions = Direction.values();
+    Phase[] phases = Phase.values();
+    for (int round = 0; round < 200; round++) {
+        PacmanBoard board = randomBoard(random);
+        PacmanGame game = new PacmanGame("test", "test",
+                HunterType.PHIL.newHunter(), board);
+        if (round % 2 == 0) {
+            game.setGhostNavigation(new DistanceFieldCache());
+        }
+        Ghost[] ghosts = game.getGhosts().toArray(new Ghost[0]);
+        GhostSwarm swarm = new GhostSwarm(Arrays.asList(GhostType.BLINKY,
+                GhostType.CLYDE, GhostType.INKY, GhostType.PINKY));
+
+        for (int trial = 0; trial < 50; trial++) {
+            game.getHunter().setPosition(randomPosition(random, board));
+            game.getHunter().setDirection(
+                    directions[random.nextInt(directions.length)]);
+            for (int i = 0; i < ghosts.length; i++) {
+                Position position = randomPosition(random, board);
+                Direction direction =
+                        directions[random.nextInt(directions.length)];
+                Phase phase = phases[random.nextInt(phases.length)];
+                int duration = random.nextInt(4);
+                ghosts[i].setPosition(position);
+                ghosts[i].setDirection(direction);
+                ghosts[i].setPhase(phase, duration);
+                swarm.setPosition(i, position);
+                swarm.setDirection(i, direction);
+                swarm.setPhase(i, phase, duration);
+                ghosts[i].move(game);
+            }
+            swarm.move(game);
+            for (int i = 0; i < ghosts.length; i++) {
+                Assert.assertEquals(ghosts[i].getType(), swarm.getType(i));
+                Assert.assertEquals(ghosts[i].getPosition(),
+                        swarm.getPosition(i));
+                Assert.assertEquals(ghosts[i].getDirection(),
+                        swarm.getDirection(i));
+                Assert.assertEquals(ghosts[i].getPhase(), swarm.getPhase(i));
+                Assert.assertEquals(ghosts[i].getPhaseDuration(),
+                        swarm.getPhaseDuration(i));
+            }
+        }
+    }
+}
+
+/**
+*
+* Method: hit(Hunter)
+*
+*/
+@Test
+public void testHit() {
+    PacmanBoard board = new PacmanBoard(7, 7);
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(5, 5), BoardItem.GHOST_SPAWN);
+    GhostSwarm swarm = new GhostSwarm(3);
+    Assert.assertEquals(GhostType.INKY, swarm.getType(2));
+    PacmanGame game = new PacmanGame("test", "test",
+            HunterType.HUNGRY.newHunter(), board);
+    game.getHunter().setPosition(Position.of(3, 3));
+    swarm.reset(Position.of(3, 3));
+    swarm.setPhase(0, Phase.FRIGHTENED, 10);
+    swarm.setPosition(2, Position.of(4, 4));
+
+    // a hungry hunter with its special active eats any ghost
+    game.getHunter().activateSpecial(5);
+    swarm.hit(game.getHunter());
+    Assert.assertTrue(swarm.isDead(0));
+    Assert.assertTrue(swarm.isDead(1));
+    Assert.assertFalse(swarm.isDead(2));
+    Assert.assertFalse(game.getHunter().isDead());
+    Assert.assertEquals(2, swarm.respawn(Position.of(5, 5)));
+    Assert.assertEquals(Position.of(5, 5), swarm.getPosition(0));
+    Assert.assertEquals(Phase.SCATTER, swarm.getPhase(0));
+
+    // any other hunter dies to a ghost that is not frightened
+    game = new PacmanGame("test", "test", HunterType.PHIL.newHunter(),
+            board);
+    game.getHunter().setPosition(Position.of(4, 4));
+    swarm.hit(game.getHunter());
+    Assert.assertTrue(game.getHunter().isDead());
+    Assert.assertFalse(swarm.isDead(2));
+}
+
+/**
+*
+* Method: PacmanGame.setGhostSwarm(GhostSwarm)
+*
+*/
+@Test
+public void testSwarmInGame() {
+    Random random = new Random(5);
+    PacmanBoard board = new PacmanBoard(41, 41);
+    for (int x = 2; x < 39; x += 4) {
+        for (int y = 2; y < 39; y += 4) {
+            board.setEntry(new Position(x, y), BoardItem.WALL);
+        }
+    }
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(20, 20), BoardItem.GHOST_SPAWN);
+    PacmanGame game = new PacmanGame("test", "test",
+            HunterType.PHIL.newHunter(), board);
+    game.reset();
+    GhostSwarm swarm = new GhostSwarm(400);
+    game.setGhostSwarm(swarm);
+    Assert.assertSame(swarm, game.getGhostSwarm());
+    Assert.assertEquals(Position.of(20, 20), swarm.getPosition(399));
+
+    long hash = game.stateHash();
+    game.tick();
+    Assert.assertNotEquals(hash, game.stateHash());
+    Assert.assertNotEquals(Position.of(20, 20), swarm.getPosition(0));
+
+    // a crowd of ghosts soon catches the hunter
+    Direction[] directions = Direction.values();
+    int ticks = 0;
+    while (game.getLives() == 4 && ticks < 10000) {
+        game.getHunter().setDirection(directions[random.nextInt(4)]);
+        game.tick();
+        ticks++;
+    }
+    Assert.assertEquals(3, game.getLives());
+    // every swarm ghost went back to the spawn with the hunter's death
+    for (int i = 0; i < swarm.size(); i++) {
+        Assert.assertEquals(Position.of(20, 20), swarm.getPosition(i));
+        Assert.assertEquals(Phase.SCATTER, swarm.getPhase(i));
+    }
+
+    game.setGhostsFrightened();
+    Assert.assertEquals(Phase.FRIGHTENED, swarm.getPhase(123));
+    game.setGhostSwarm(null);
+    Assert.assertNull(game.getGhostSwarm());
+}
+
+/**
+*
+* Method: hit(Hunter) once the swarm has moved on a board
+*
+*/
+@Test
+public void testHitAfterMove() {
+    Random random = new Random(25);
+    Phase[] phases = Phase.values();
+    HunterType[] hunters = HunterType.values();
+    for (int round = 0; round < 50; round++) {
+        PacmanBoard board = randomBoard(random);
+        PacmanGame game = new PacmanGame("test", "test",
+                hunters[round % hunters.length].newHunter(), board);
+        GhostSwarm swarm = new GhostSwarm(300);
+        GhostSwarm scanned = new GhostSwarm(300);
+        for (int i = 0; i < swarm.size(); i++) {
+            swarm.setPosition(i, randomPosition(random, board));
+            swarm.setPhase(i, phases[random.nextInt(phases.length)], 20);
+        }
+        swarm.move(game);
+        int hits = 0;
+        for (int trial = 0; trial < 20; trial++) {
+            Position hunter = randomPosition(random, board);
+            game.getHunter().setPosition(hunter);
+            if (random.nextBoolean()) {
+                game.getHunter().activateSpecial(10);
+            }
+            // ghosts moved after the grid was built are found on their
+            // new blocks
+            int moved = random.nextInt(swarm.size());
+            swarm.setPosition(moved, hunter);
+            for (int i = 0; i < swarm.size(); i++) {
+                scanned.setPosition(i, swarm.getPosition(i));
+                scanned.setPhase(i, swarm.getPhase(i),
+                        swarm.getPhaseDuration(i));
+                if (swarm.isDead(i)) {
+                    scanned.kill(i);
+                }
+            }
+            swarm.hit(game.getHunter());
+            scanned.hit(game.getHunter());
+            for (int i = 0; i < swarm.size(); i++) {
+                Assert.assertEquals(scanned.isDead(i), swarm.isDead(i));
+            }
+            hits += swarm.isDead(moved) || game.getHunter().isDead() ? 1 : 0;
+        }
+        Assert.assertTrue(hits > 0);
+    }
+}
+}
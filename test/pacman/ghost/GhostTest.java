@@ -0,0 +1,257 @@
+package pacman.ghost;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pacman.board.BoardItem;
+import pacman.board.DistanceFieldCache;
+import pacman.board.PacmanBoard;
+import pacman.game.PacmanGame;
+import pacman.hunter.Phil;
+import pacman.util.Direction;
+import pacman.util.Position;
+
+import java.util.Random;
+
+/**
+* Ghost Tester.
+*/
+public class GhostTest {
+
+/**
+*
+* Method: move(PacmanGame) with ghost navigation, fields computed per tick
+*
+*/
+@Test
+public void testMazeMissesPerTick() {
+    long[] misses = new long[2];
+    int[] sizes = {21, 201};
+    for (int n = 0; n < sizes.length; n++) {
+        int size = sizes[n];
+        PacmanBoard board = new PacmanBoard(size, size);
+        for (int y = 2; y < size - 1; y += 2) {
+            for (int x = 2; x < size - 1; x += 2) {
+                board.setEntry(new Position(x, y), BoardItem.WALL);
+            }
+        }
+        board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+        board.setEntry(new Position(size - 2, size - 2),
+                BoardItem.GHOST_SPAWN);
+        PacmanGame game = new PacmanGame("test", "test", new Phil(), board);
+        DistanceFieldCache cache = new DistanceFieldCache();
+        game.setGhostNavigation(cache);
+        game.reset();
+        Random random = new Random(3);
+        Direction[] directions = Direction.values();
+        int ticks = 400;
+        for (int i = 0; i < ticks; i++) {
+            if (random.nextInt(4) == 0) {
+                game.getHunter().setDirection(
+                        directions[random.nextInt(directions.length)]);
+            }
+            if (game.getLives() == 0) {
+                game.reset();
+            }
+            game.tick();
+        }
+        // ghosts move every other tick and share a field per target: the
+        // hunter, the blocks ahead of and behind it, and the four homes
+        Assert.assertTrue(size + ": " + cache.getMisses(),
+                cache.getMisses() <= 3 * ticks / 2 + 4);
+        misses[n] = cache.getMisses();
+    }
+    // a board 100 times the area needs about as many fields
+    Assert.assertTrue(misses[1] + " vs " + misses[0],
+            misses[1] <= 2 * misses[0]);
+}
+
+/**
+*
+* Method: moveAlong(int)
+*
+*/
+@Test
+public void testMoveAlong() {
+    PacmanBoard board = new PacmanBoard(103, 3);
+    for (int x = 0; x < 103; x++) {
+        board.setEntry(new Position(x, 0), BoardItem.WALL);
+        board.setEntry(new Position(x, 2), BoardItem.WALL);
+    }
+    board.setEntry(new Position(0, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(102, 1), BoardItem.GHOST_SPAWN);
+    PacmanGame game = new PacmanGame("test", "test", new Phil(), board);
+    for (Phase phase : Phase.values()) {
+        for (int duration = 0; duration <= 31; duration++) {
+            for (int blocks = 0; blocks <= 100; blocks += 7) {
+                Ghost moved = new Blinky();
+                Ghost along = new Blinky();
+                for (Ghost ghost : new Ghost[] {moved, along}) {
+                    ghost.setPhase(phase, duration);
+                    ghost.setPosition(new Position(1, 1));
+                    ghost.setDirection(Direction.RIGHT);
+                }
+                for (int i = 0; i < blocks; i++) {
+                    moved.move(game);
+                }
+                along.moveAlong(blocks);
+                // the same as moving one block at a time down the corridor
+                Assert.assertEquals(phase + ":" + duration + " " + blocks,
+                        moved, along);
+            }
+        }
+    }
+}
+
+/**
+*
+* Method: move(PacmanGame) with ghost navigation
+*
+*/
+@Test
+public void testMoveByMaze() {
+    PacmanBoard board = new PacmanBoard(11, 7);
+    for (int y = 1; y < 5; y++) {
+        board.setEntry(new Position(5, y), BoardItem.WALL);
+    }
+    board.setEntry(new Position(1, 5), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(9, 5), BoardItem.GHOST_SPAWN);
+    PacmanGame game = new PacmanGame("test", "test", new Phil(), board);
+    game.setGhostNavigation(new DistanceFieldCache());
+    game.getHunter().setPosition(Position.of(7, 1));
+    Ghost ghost = new Blinky();
+    ghost.setPosition(Position.of(3, 1));
+    ghost.setPhase(Phase.CHASE, 100);
+
+    // the shortest path is down, across the bottom and back up
+    for (int i = 0; i < 12; i++) {
+        ghost.move(game);
+    }
+    Assert.assertEquals(Position.of(7, 1), ghost.getPosition());
+
+    // frightened ghosts keep the euclidean rules
+    ghost.setPosition(Position.of(3, 1));
+    ghost.setDirection(Direction.UP);
+    ghost.setPhase(Phase.FRIGHTENED, 100);
+    Ghost expected = expectedMove(ghost, game);
+    ghost.move(game);
+    Assert.assertEquals(expected.getPosition(), ghost.getPosition());
+}
+
+/**
+*
+* Method: move(PacmanGame) compared against the euclidean distance rules
+* over randomized boards and ghost states.
+*
+*/
+@Test
+public void testMoveMatchesEuclidean() {
+    Random random = new Random(2002);
+    Direction[] directions = Direction.values();
+    Phase[] phases = Phase.values();
+    for (int round = 0; round < 200; round++) {
+        int width = 3 + random.nextInt(20);
+        int height = 3 + random.nextInt(20);
+        PacmanBoard board = new PacmanBoard(width, height);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (random.nextInt(10) < 3) {
+                    board.setEntry(new Position(x, y), BoardItem.WALL);
+                } else if (random.nextInt(10) < 2) {
+                    board.setEntry(new Position(x, y), BoardItem.NONE);
+                }
+            }
+        }
+        board.setEntry(randomPosition(random, board),
+                BoardItem.PACMAN_SPAWN);
+        board.setEntry(randomPosition(random, board), BoardItem.GHOST_SPAWN);
+        PacmanGame game = new PacmanGame("test", "test", new Phil(), board);
+
+        for (int trial = 0; trial < 50; trial++) {
+            game.getHunter().setPosition(randomPosition(random, board));
+            game.getHunter().setDirection(
+                    directions[random.nextInt(directions.length)]);
+            for (Ghost g : game.getGhosts()) {
+                g.setPosition(randomPosition(random, board));
+                g.setDirection(directions[random.nextInt(directions.length)]);
+                g.setPhase(phases[random.nextInt(phases.length)],
+                        random.nextInt(4));
+                Ghost expected = expectedMove(g, game);
+                g.move(game);
+                Assert.assertEquals(expected.getPosition(), g.getPosition());
+                Assert.assertEquals(expected.getDirection(),
+                        g.getDirection());
+                Assert.assertEquals(expected.phaseInfo(), g.phaseInfo());
+            }
+        }
+    }
+}
+
+/**
+* a random position on the given board.
+*/
+private static Position randomPosition(Random random, PacmanBoard board) {
+    return new Position(random.nextInt(board.getWidth()),
+            random.nextInt(board.getHeight()));
+}
+
+/**
+* applies the movement rules documented on Ghost.move(PacmanGame) using
+* euclidean distances to a copy of the given ghost.
+*/
+private static Ghost expectedMove(Ghost ghost, PacmanGame game) {
+    Ghost copy = ghost.getType() == GhostType.BLINKY ? new Blinky()
+            : ghost.getType() == GhostType.CLYDE ? new Clyde()
+            : ghost.getType() == GhostType.INKY ? new Inky() : new Pinky();
+    copy.setPosition(ghost.getPosition());
+    copy.setDirection(ghost.getDirection());
+    // step 1
+    String[] info = ghost.phaseInfo().split(":");
+    Phase phase = Phase.valueOf(info[0]);
+    int duration = Integer.max(0, Integer.parseInt(info[1]) - 1);
+    if (duration == 0) {
+        phase = phase == Phase.CHASE ? Phase.SCATTER : Phase.CHASE;
+        duration = phase.getDuration();
+    }
+    copy.setPhase(phase, duration);
+    // step 2
+    PacmanBoard board = game.getBoard();
+    int x = copy.getPosition().getX();
+    int y = copy.getPosition().getY();
+    Position target;
+    if (phase == Phase.CHASE) {
+        target = copy.chaseTarget(game);
+    } else if (phase == Phase.FRIGHTENED) {
+        target = new Position(x * 24 % (2 * board.getWidth())
+                - board.getWidth(), y * 36 % (2 * board.getHeight())
+                - board.getHeight());
+    } else {
+        target = copy.home(game);
+    }
+    // step 3
+    Direction[] order = {Direction.UP, Direction.LEFT, Direction.DOWN,
+        Direction.RIGHT};
+    Direction best = null;
+    double bestDistance = Double.MAX_VALUE;
+    for (Direction d : order) {
+        Position next = copy.getPosition().add(d.offset());
+        if (next.getX() < 0 || next.getY() < 0
+                || next.getX() >= board.getWidth()
+                || next.getY() >= board.getHeight()
+                || !board.getEntry(next).getPathable()
+                || d == copy.getDirection().opposite()) {
+            continue;
+        }
+        double distance = next.distance(target);
+        if (distance < bestDistance) {
+            bestDistance = distance;
+            best = d;
+        }
+    }
+    // step 4 and 5
+    if (best != null) {
+        copy.setPosition(copy.getPosition().add(best.offset()));
+        copy.setDirection(best);
+    }
+    return copy;
+}
+}
@@ -0,0 +1,66 @@
+package pacman.ghost;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+* OccupancyGrid Tester.
+*/
+public class OccupancyGridTest {
+
+/**
+* the ghosts on a block of the grid, sorted.
+*/
+private static List<Integer> ghostsAt(OccupancyGrid grid, int x, int y) {
+    List<Integer> ghosts = new ArrayList<>();
+    for (int i = grid.first(x, y); i != OccupancyGrid.NONE;
+         i = grid.next(i)) {
+        ghosts.add(i);
+    }
+    Collections.sort(ghosts);
+    return ghosts;
+}
+
+/**
+*
+* Method: place(int, int, int) / first(int, int) / next(int)
+*
+*/
+@Test
+public void testPlace() {
+    OccupancyGrid grid = new OccupancyGrid(4, 3, 5);
+    Assert.assertTrue(grid.fits(4, 3));
+    Assert.assertFalse(grid.fits(3, 4));
+    Assert.assertTrue(grid.contains(3, 2));
+    Assert.assertFalse(grid.contains(4, 2));
+    Assert.assertEquals(List.of(), ghostsAt(grid, 1, 1));
+
+    for (int i = 0; i < 5; i++) {
+        grid.place(i, 1, 1);
+    }
+    Assert.assertEquals(List.of(0, 1, 2, 3, 4), ghostsAt(grid, 1, 1));
+
+    // moving ghosts from the middle, head and tail of a block's list
+    grid.place(2, 2, 1);
+    grid.place(4, 2, 1);
+    grid.place(0, 3, 2);
+    Assert.assertEquals(List.of(1, 3), ghostsAt(grid, 1, 1));
+    Assert.assertEquals(List.of(2, 4), ghostsAt(grid, 2, 1));
+    Assert.assertEquals(List.of(0), ghostsAt(grid, 3, 2));
+
+    // placing a ghost where it already is changes nothing
+    grid.place(3, 1, 1);
+    Assert.assertEquals(List.of(1, 3), ghostsAt(grid, 1, 1));
+
+    // ghosts outside of the board are on no block
+    grid.place(1, -1, 1);
+    grid.place(3, 4, 0);
+    Assert.assertEquals(List.of(), ghostsAt(grid, 1, 1));
+    grid.place(1, 1, 1);
+    Assert.assertEquals(List.of(1), ghostsAt(grid, 1, 1));
+}
+}
@@ -0,0 +1,118 @@
+package pacman.score;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+* ConcurrentScoreBoard Tester.
+*/
+public class ConcurrentScoreBoardTest {
+
+/**
+*
+* Method: setScore(String, int) from many threads with
+* getEntriesByScore() reading at the same time
+*
+*/
+@Test
+public void testConcurrentSetScore() throws Exception {
+    ConcurrentScoreBoard board = new ConcurrentScoreBoard();
+    ExecutorService pool = Executors.newFixedThreadPool(5);
+    List<Future<?>> writers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+        int thread = t;
+        writers.add(pool.submit(() -> {
+            // every thread overwrites the same names, ending on its id
+            for (int round = 0; round < 50; round++) {
+                for (int i = 0; i < 200; i++) {
+                    board.setScore("n" + i, round == 49 ? i : round * thread);
+                }
+            }
+            board.setScore("bad name", 5);
+            board.setScore("neg", -1);
+            board.increaseScore(10);
+        }));
+    }
+    Future<?> reader = pool.submit(() -> {
+        for (int i = 0; i < 200; i++) {
+            List<String> entries = board.getEntriesByScore();
+            Set<String> names = new HashSet<>();
+            int previous = Integer.MAX_VALUE;
+            for (String entry : entries) {
+                String[] parts = entry.split(" : ");
+                Assert.assertTrue(names.add(parts[0]));
+                int score = Integer.parseInt(parts[1]);
+                Assert.assertTrue(score <= previous);
+                previous = score;
+            }
+        }
+    });
+    for (Future<?> writer : writers) {
+        writer.get();
+    }
+    reader.get();
+    pool.shutdown();
+    Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+    ScoreBoard expected = new ScoreBoard();
+    for (int i = 0; i < 200; i++) {
+        expected.setScore("n" + i, i);
+    }
+    expected.increaseScore(40);
+    Assert.assertEquals(expected, board.snapshot());
+    Assert.assertEquals(expected.getEntriesByScore(),
+            board.getEntriesByScore());
+    Assert.assertEquals(expected.getEntriesByName(),
+            board.getEntriesByName());
+    Assert.assertEquals(expected.topK(3).toString(),
+            board.topK(3).toString());
+    Assert.assertEquals(4 * 50 * 200, board.getUpdateCount());
+}
+
+/**
+*
+* Method: snapshot() while scores are set and the score increased
+*
+*/
+@Test
+public void testSnapshotAtOnePoint() throws Exception {
+    ConcurrentScoreBoard board = new ConcurrentScoreBoard();
+    ExecutorService pool = Executors.newFixedThreadPool(5);
+    List<Future<?>> writers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+        int thread = t;
+        writers.add(pool.submit(() -> {
+            for (int i = 0; i < 5000; i++) {
+                // each new name is set before the score is increased
+                board.setScore("t" + thread + "n" + i, i);
+                board.increaseScore(1);
+            }
+        }));
+    }
+    Future<?> reader = pool.submit(() -> {
+        for (int i = 0; i < 300; i++) {
+            ScoreBoard snapshot = board.snapshot();
+            // so the score can never be ahead of the entries
+            Assert.assertTrue(snapshot.getScore() + " > "
+                    + snapshot.getEntries().size(), snapshot.getScore()
+                    <= snapshot.getEntries().size());
+        }
+    });
+    for (Future<?> writer : writers) {
+        writer.get();
+    }
+    reader.get();
+    pool.shutdown();
+    Assert.assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+    Assert.assertEquals(20000, board.snapshot().getScore());
+}
+}
@@ -0,0 +1,193 @@
+package pacman.score;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+* ScoreBoard Tester.
+*/
+public class ScoreBoardTest {
+
+private ScoreBoard board;
+
+/**
+* an empty score board.
+*/
+@Before
+public void before() {
+    board = new ScoreBoard();
+}
+
+/**
+* the entries of a map sorted by score then name by brute force.
+*/
+private static List<String> byScore(Map<String, Integer> scores) {
+    List<Map.Entry<String, Integer>> items =
+            new ArrayList<>(scores.entrySet());
+    items.sort((o1, o2) -> {
+        int compare = o2.getValue().compareTo(o1.getValue());
+        return compare != 0 ? compare : o1.getKey().compareTo(o2.getKey());
+    });
+    List<String> entries = new ArrayList<>();
+    for (Map.Entry<String, Integer> item : items) {
+        entries.add(item.getKey() + " : " + item.getValue());
+    }
+    return entries;
+}
+
+/**
+*
+* Method: getEntriesByName() / getEntriesByScore() from the documentation
+*
+*/
+@Test
+public void testEntries() {
+    board.setScore("Fred", 100);
+    board.setScore("fred", 20);
+    board.setScore("Fred", 24);
+    Assert.assertEquals("[Fred : 24, fred : 20]",
+            board.getEntriesByName().toString());
+
+    board = new ScoreBoard();
+    board.setScore("Alfie", 100);
+    board.setScore("richard", 20);
+    board.setScore("Alfie", 24);
+    board.setScore("ben", 20);
+    board.setScore("bad name", 50);
+    board.setScore("neg", -1);
+    Assert.assertEquals("[Alfie : 24, ben : 20, richard : 20]",
+            board.getEntriesByScore().toString());
+}
+
+/**
+*
+* Method: topK(int) / range(int, int) / rankOf(String)
+*
+*/
+@Test
+public void testRankQueries() {
+    Random random = new Random(11);
+    Map<String, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 5000; i++) {
+        String name = "n" + random.nextInt(1500);
+        int score = random.nextInt(300);
+        board.setScore(name, score);
+        expected.put(name, score);
+    }
+    List<String> sorted = byScore(expected);
+    Assert.assertEquals(sorted, board.getEntriesByScore());
+
+    Assert.assertEquals(sorted.subList(0, 10).toString(),
+            board.topK(10).toString());
+    Assert.assertEquals(sorted.subList(700, 750).toString(),
+            board.range(700, 50).toString());
+    Assert.assertEquals(sorted.subList(sorted.size() - 3, sorted.size())
+            .toString(), board.range(sorted.size() - 3, 50).toString());
+    Assert.assertTrue(board.range(sorted.size(), 5).isEmpty());
+    Assert.assertEquals(sorted.size(), board.topK(100000).size());
+
+    for (int i = 0; i < sorted.size(); i += 37) {
+        String name = sorted.get(i).split(" : ")[0];
+        Assert.assertEquals(i, board.rankOf(name));
+        ScoreEntry entry = board.range(i, 1).get(0);
+        Assert.assertEquals(name, entry.getName());
+        Assert.assertEquals((int) expected.get(name), entry.getScore());
+    }
+    Assert.assertEquals(-1, board.rankOf("missing"));
+    Assert.assertEquals(-1, board.rankOf(null));
+}
+
+/**
+*
+* Method: setScores(Map) / addAll(Iterator)
+*
+*/
+@Test
+public void testBulkImport() {
+    Random random = new Random(5);
+    Map<String, Integer> scores = new HashMap<>();
+    List<ScoreEntry> stream = new ArrayList<>();
+    ScoreBoard expected = new ScoreBoard();
+    for (int i = 0; i < 3000; i++) {
+        String name = random.nextInt(20) == 0 ? "bad_" + i
+                : "n" + random.nextInt(2000);
+        int score = random.nextInt(500) - 10;
+        scores.put(name, score);
+        stream.add(new ScoreEntry(name, score));
+        expected.setScore(name, score);
+    }
+    stream.add(null);
+
+    board.addAll(stream.iterator());
+    Assert.assertEquals(expected, board);
+    Assert.assertEquals(expected.getEntriesByScore(),
+            board.getEntriesByScore());
+
+    ScoreBoard bulk = new ScoreBoard();
+    bulk.setScores(scores);
+    ScoreBoard single = new ScoreBoard();
+    for (Map.Entry<String, Integer> score : scores.entrySet()) {
+        single.setScore(score.getKey(), score.getValue());
+    }
+    Assert.assertEquals(single, bulk);
+    Assert.assertEquals(single.getEntriesByScore(),
+            bulk.getEntriesByScore());
+    Assert.assertEquals(single.rankOf("n7"), bulk.rankOf("n7"));
+
+    // later updates keep the bulk built index in order
+    bulk.setScore("n7", 1000);
+    bulk.setScore("zz", 3);
+    bulk.addAll(stream.subList(0, 100).iterator());
+    single.setScore("n7", 1000);
+    single.setScore("zz", 3);
+    for (ScoreEntry entry : stream.subList(0, 100)) {
+        single.setScore(entry.getName(), entry.getScore());
+    }
+    Assert.assertEquals(single.getEntriesByScore(),
+            bulk.getEntriesByScore());
+
+    // from maps already sorted by name, and sorted the other way
+    ScoreBoard sorted = new ScoreBoard();
+    sorted.setScores(bulk.getEntries());
+    Map<String, Integer> reversed = new TreeMap<>(Comparator.reverseOrder());
+    reversed.putAll(bulk.getEntries());
+    ScoreBoard unsorted = new ScoreBoard();
+    unsorted.setScores(reversed);
+    single.setScore("n7", 2);
+    for (ScoreBoard copy : new ScoreBoard[] {sorted, unsorted}) {
+        Assert.assertEquals(bulk.getEntriesByName(), copy.getEntriesByName());
+        Assert.assertEquals(bulk.getEntriesByScore(),
+                copy.getEntriesByScore());
+        copy.setScore("n7", 2);
+        Assert.assertEquals(single.getEntriesByScore(),
+                copy.getEntriesByScore());
+    }
+}
+
+/**
+*
+* Method: setScores(Map) with null scores
+*
+*/
+@Test
+public void testSetScoresNull() {
+    Map<String, Integer> scores = new HashMap<>();
+    scores.put("Alex", null);
+    scores.put("Bea", 40);
+    // skipped the same way on an empty and on a filled board
+    board.setScores(scores);
+    Assert.assertEquals("[Bea : 40]", board.getEntriesByName().toString());
+    scores.put("Bea", 50);
+    board.setScores(scores);
+    Assert.assertEquals("[Bea : 50]", board.getEntriesByName().toString());
+}
+}
@@ -0,0 +1,245 @@
+package pacman.score;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+/**
+* ScoreLog Tester.
+*/
+public class ScoreLogTest {
+
+private Path file;
+
+/**
+* a path for a log that does not exist yet.
+*/
+@Before
+public void before() throws Exception {
+    file = Files.createTempFile("scores", ".log");
+    Files.delete(file);
+}
+
+/**
+* delete the log.
+*/
+@After
+public void after() throws Exception {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(file.resolveSibling(file.getFileName()
+            + ".compact"));
+}
+
+/**
+*
+* Method: setScore(String, int) then replaying the log when reopened
+*
+*/
+@Test
+public void testReplay() throws Exception {
+    ScoreBoard expected = new ScoreBoard();
+    Random random = new Random(2);
+    try (ScoreLog log = new ScoreLog(file, 64, 1000)) {
+        for (int i = 0; i < 3000; i++) {
+            String name = "n" + random.nextInt(2000);
+            int score = random.nextInt(1000);
+            log.setScore(name, score);
+            expected.setScore(name, score);
+        }
+        log.setScore("bad name", 4);
+        log.setScore("neg", -4);
+        Assert.assertEquals(expected, log.getScoreBoard());
+        Assert.assertEquals(3000, log.getRecordCount());
+    }
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        Assert.assertEquals(expected, log.getScoreBoard());
+        Assert.assertEquals(expected.getEntriesByScore(),
+                log.getScoreBoard().getEntriesByScore());
+        log.setScore("n1", 99999);
+        expected.setScore("n1", 99999);
+    }
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        Assert.assertEquals(expected, log.getScoreBoard());
+    }
+}
+
+/**
+*
+* Method: compact()
+*
+*/
+@Test
+public void testCompact() throws Exception {
+    try (ScoreLog log = new ScoreLog(file, 1000, 1000)) {
+        for (int i = 0; i < 10000; i++) {
+            log.setScore("n" + (i % 10), i);
+        }
+        // compacted in the background once mostly overridden records
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (log.getRecordCount() >= 5000
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertTrue(log.getRecordCount() < 5000);
+        log.compact();
+        Assert.assertEquals(10, log.getRecordCount());
+        log.setScore("a", 1);
+    }
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        Assert.assertEquals(11, log.getRecordCount());
+        Assert.assertEquals("n9 : 9999",
+                log.getScoreBoard().getEntriesByScore().get(0));
+        Assert.assertEquals(0, log.getScoreBoard().rankOf("n9"));
+    }
+}
+
+/**
+*
+* Method: ScoreLog(Path, int, long) with a partly written last record
+*
+*/
+@Test
+public void testTornRecord() throws Exception {
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        log.setScore("Alex", 30);
+        log.setScore("Bea", 40);
+    }
+    long size = Files.size(file);
+    try (FileChannel channel = FileChannel.open(file,
+            StandardOpenOption.WRITE)) {
+        channel.truncate(size - 2);
+    }
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        Assert.assertEquals("[Alex : 30]",
+                log.getScoreBoard().getEntriesByName().toString());
+        log.setScore("Cy", 50);
+    }
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        Assert.assertEquals("[Alex : 30, Cy : 50]",
+                log.getScoreBoard().getEntriesByName().toString());
+    }
+}
+
+/**
+*
+* Method: ScoreLog(Path, int, long) with a damaged record before others
+*
+*/
+@Test
+public void testDamagedRecord() throws Exception {
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        log.setScore("Alex", 30);
+        log.setScore("Bea", 40);
+        log.setScore("Cy", 50);
+    }
+    byte[] bytes = Files.readAllBytes(file);
+    // the score of Bea, after the header, Alex's record and "Bea"
+    bytes[5 + 1 + 4 + 1 + 4 + 1 + 3] ^= 1;
+    Files.write(file, bytes);
+    try {
+        new ScoreLog(file, 1, 0).close();
+        Assert.fail();
+    } catch (IOException e) {
+        // the log is left as it was rather than cut after Alex
+        Assert.assertArrayEquals(bytes, Files.readAllBytes(file));
+    }
+}
+
+/**
+*
+* Method: ScoreLog(Path, int, long) with zeros after the last record
+*
+*/
+@Test
+public void testZeroedTail() throws Exception {
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        log.setScore("Alex", 30);
+    }
+    long size = Files.size(file);
+    Files.write(file, new byte[64], StandardOpenOption.APPEND);
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        Assert.assertEquals("[Alex : 30]",
+                log.getScoreBoard().getEntriesByName().toString());
+        Assert.assertEquals(size, Files.size(file));
+    }
+}
+
+/**
+*
+* Method: setScore(String, int) on a log that then stays idle
+*
+*/
+@Test
+public void testIdleSync() throws Exception {
+    try (ScoreLog log = new ScoreLog(file, 1000, 10)) {
+        long size = Files.size(file);
+        log.setScore("Alex", 30);
+        // the buffered record reaches the file without another write
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (Files.size(file) == size && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assert.assertTrue(Files.size(file) > size);
+    }
+}
+
+/**
+*
+* Method: setScore(String, int) / sync() after close()
+*
+*/
+@Test
+public void testClosed() throws Exception {
+    ScoreLog log = new ScoreLog(file, 1, 0);
+    log.setScore("Alex", 30);
+    log.close();
+    try {
+        log.setScore("Bob", 2);
+        Assert.fail();
+    } catch (IOException e) {
+        // the score was neither logged nor set
+        Assert.assertEquals("[Alex : 30]",
+                log.getScoreBoard().getEntriesByName().toString());
+    }
+    try {
+        log.sync();
+        Assert.fail();
+    } catch (IOException e) {
+        // expected
+    }
+    log.close();
+}
+
+/**
+*
+* Method: getScoreBoard()
+*
+*/
+@Test
+public void testScoreBoardCopy() throws Exception {
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        log.setScore("Alex", 30);
+        ScoreBoard copy = log.getScoreBoard();
+        copy.setScore("Bob", 2);
+        log.setScore("Cy", 50);
+        Assert.assertEquals("[Alex : 30, Bob : 2]",
+                copy.getEntriesByName().toString());
+        Assert.assertEquals("[Alex : 30, Cy : 50]",
+                log.getScoreBoard().getEntriesByName().toString());
+        // sets on the copy never reach the log, even when it compacts
+        log.compact();
+    }
+    try (ScoreLog log = new ScoreLog(file, 1, 0)) {
+        Assert.assertEquals("[Alex : 30, Cy : 50]",
+                log.getScoreBoard().getEntriesByName().toString());
+    }
+}
+}
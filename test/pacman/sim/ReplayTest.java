@@ -0,0 +1,130 @@
+package pacman.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pacman.board.BoardItem;
+import pacman.board.PacmanBoard;
+import pacman.game.PacmanGame;
+import pacman.ghost.GhostSwarm;
+import pacman.hunter.Hungry;
+import pacman.util.Direction;
+import pacman.util.Position;
+import pacman.util.UnpackableException;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+/**
+* ReplayRecorder and ReplayRunner Tester.
+*/
+public class ReplayTest {
+
+/**
+* a recorded game with random inputs.
+*/
+private static ReplayRecorder record(int ticks) throws Exception {
+    PacmanBoard board = new PacmanBoard(12, 9);
+    for (int x = 3; x < 9; x++) {
+        board.setEntry(new Position(x, 4), BoardItem.WALL);
+    }
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(10, 7), BoardItem.GHOST_SPAWN);
+    board.setEntry(new Position(2, 6), BoardItem.BIG_DOT_SPAWN);
+    PacmanGame game = new PacmanGame("replay", "test", new Hungry(), board);
+    game.reset();
+    game.getScores().setScore("Alex", 30);
+
+    ReplayRecorder recorder = new ReplayRecorder(game);
+    Random random = new Random(7);
+    Direction[] directions = Direction.values();
+    for (int i = 0; i < ticks; i++) {
+        if (random.nextInt(5) == 0) {
+            game.getHunter().setDirection(
+                    directions[random.nextInt(directions.length)]);
+        }
+        if (random.nextInt(200) == 0) {
+            recorder.activateSpecial(1 + random.nextInt(20));
+        }
+        if (random.nextInt(150) == 0) {
+            recorder.setGhostsFrightened();
+        }
+        recorder.tick();
+    }
+    return recorder;
+}
+
+/**
+*
+* Method: run(Reader)
+*
+*/
+@Test
+public void testReplayMatchesRecording() throws Exception {
+    ReplayRecorder recorder = record(3000);
+    StringWriter out = new StringWriter();
+    recorder.write(out);
+
+    ReplayRunner runner = ReplayRunner.read(new StringReader(out.toString()));
+    Assert.assertEquals(3000, runner.getTicks());
+    runner.run();
+    Assert.assertTrue(runner.matchesRecording());
+
+    PacmanGame expected = recorder.getGame();
+    PacmanGame actual = runner.getGame();
+    Assert.assertEquals(expected.stateHash(), actual.stateHash());
+    Assert.assertEquals(expected.getBoard(), actual.getBoard());
+    Assert.assertEquals(expected.getHunter(), actual.getHunter());
+    Assert.assertEquals(expected.getGhosts(), actual.getGhosts());
+    Assert.assertEquals(expected.getScores(), actual.getScores());
+    Assert.assertEquals(expected.getTick(), actual.getTick());
+    Assert.assertEquals(expected.getLevel(), actual.getLevel());
+    Assert.assertEquals(expected.getLives(), actual.getLives());
+}
+
+/**
+*
+* Method: run() with inputs that do not add up to the recorded ticks
+*
+*/
+@Test(expected = UnpackableException.class)
+public void testTruncatedReplay() throws Exception {
+    StringWriter out = new StringWriter();
+    record(50).write(out);
+    String replay = out.toString().replace("ticks = 50", "ticks = 51");
+    ReplayRunner.run(new StringReader(replay));
+}
+
+/**
+*
+* Method: matchesRecording() with a different final score
+*
+*/
+@Test
+public void testScoreMismatch() throws Exception {
+    ReplayRecorder recorder = record(200);
+    StringWriter out = new StringWriter();
+    recorder.write(out);
+    String score = "score = " + recorder.getGame().getScores().getScore();
+    String replay = out.toString().replace(score, score + "0");
+
+    ReplayRunner runner = ReplayRunner.read(new StringReader(replay));
+    runner.run();
+    // the state hash leaves out the score, so only the score differs
+    Assert.assertFalse(runner.matchesRecording());
+    Assert.assertEquals(recorder.getGame().stateHash(),
+            runner.getGame().stateHash());
+}
+
+/**
+*
+* Method: ReplayRecorder(PacmanGame) with a ghost swarm
+*
+*/
+@Test(expected = IllegalArgumentException.class)
+public void testRecordSwarm() throws Exception {
+    PacmanGame game = record(0).getGame();
+    game.setGhostSwarm(new GhostSwarm(8));
+    new ReplayRecorder(game);
+}
+}
@@ -0,0 +1,89 @@
+package pacman.sim;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pacman.board.BoardItem;
+import pacman.board.PacmanBoard;
+import pacman.game.PacmanGame;
+import pacman.hunter.HunterType;
+import pacman.util.Direction;
+import pacman.util.Position;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+* SimulationEngine Tester.
+*/
+public class SimulationEngineTest {
+
+/**
+* a 10x8 board with a wall in the middle.
+*/
+private static PacmanBoard board() {
+    PacmanBoard board = new PacmanBoard(10, 8);
+    for (int y = 2; y < 6; y++) {
+        board.setEntry(new Position(5, y), BoardItem.WALL);
+    }
+    board.setEntry(new Position(1, 1), BoardItem.PACMAN_SPAWN);
+    board.setEntry(new Position(8, 6), BoardItem.GHOST_SPAWN);
+    board.setEntry(new Position(3, 4), BoardItem.BIG_DOT_SPAWN);
+    board.reset();
+    return board;
+}
+
+/**
+* a seeded policy that turns randomly.
+*/
+private static InputPolicy randomPolicy(long seed) {
+    Random random = new Random(seed);
+    Direction[] directions = Direction.values();
+    return game -> random.nextInt(3) == 0
+            ? directions[random.nextInt(directions.length)] : null;
+}
+
+/**
+*
+* Method: run(int, ForkJoinPool) matches playing each game in turn
+*
+*/
+@Test
+public void testRunMatchesSequential() {
+    PacmanBoard board = board();
+    String before = board.toString();
+    AtomicLong seeds = new AtomicLong();
+    SimulationEngine engine = new SimulationEngine(board, HunterType.SPEEDY,
+            () -> randomPolicy(seeds.getAndIncrement()), 2000);
+    SimulationReport report = engine.run(16, new ForkJoinPool(4));
+    // the template board is copied rather than played on
+    Assert.assertEquals(before, board.toString());
+
+    List<SimulationResult> results = report.getResults();
+    Assert.assertEquals(16, results.size());
+    long total = 0;
+    for (int i = 0; i < results.size(); i++) {
+        PacmanGame game = engine.newGame();
+        InputPolicy policy = randomPolicy(i);
+        long ticks = 0;
+        while (game.getLives() > 0 && ticks < 2000) {
+            Direction direction = policy.nextDirection(game);
+            if (direction != null) {
+                game.getHunter().setDirection(direction);
+            }
+            game.tick();
+            ticks++;
+        }
+        SimulationResult result = results.get(i);
+        Assert.assertEquals(i, result.getGame());
+        Assert.assertEquals(game.getScores().getScore(), result.getScore());
+        Assert.assertEquals(game.getLevel(), result.getLevel());
+        Assert.assertEquals(game.getLives(), result.getLives());
+        Assert.assertEquals(ticks, result.getTicks());
+        total += ticks;
+    }
+    Assert.assertEquals(total, report.getTotalTicks());
+    Assert.assertTrue(report.getTicksPerSecond() > 0);
+}
+}